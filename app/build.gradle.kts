@@ -31,11 +31,17 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        buildConfig = true // BuildConfig.DEBUG guards debug logging
+    }
+    testOptions {
+        // Host-side unit tests drive Game without a device; framework calls become no-ops
+        unitTests.isReturnDefaultValues = true
     }
 }
 
 dependencies {
 
+    implementation(project(":engine"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.constraintlayout)
@@ -18,4 +18,13 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# Release builds are not shrunk (isMinifyEnabled = false), so this rule is not applied.
+# Debug logging is removed at compile time instead: every Log.d and Log.v is behind
+# BuildConfig.DEBUG, which is the constant false in release builds. Once shrinking is
+# turned on, this also strips any call that misses the guard, message building included.
+-assumenosideeffects class android.util.Log {
+    public static int v(...);
+    public static int d(...);
+}
@@ -0,0 +1,101 @@
+package com.example.cs205;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrades a version 1 score database on a device and checks what the old high scores count for.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HighScoreDatabaseMigrationTest {
+    private static final String DATABASE_NAME = "migration-test.db";
+
+    private Context context;
+    private HighScoreDatabaseHelper helper;
+
+    @Before
+    public void createVersion1Database() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+
+        // Version 1 schema, with the high scores it kept: one row per new best score
+        SQLiteDatabase v1 = context.openOrCreateDatabase(DATABASE_NAME, Context.MODE_PRIVATE, null);
+        v1.execSQL("CREATE TABLE score (id INTEGER PRIMARY KEY AUTOINCREMENT, value INTEGER)");
+        v1.execSQL("INSERT INTO score (value) VALUES (10), (25), (40)");
+        v1.setVersion(1);
+        v1.close();
+
+        helper = new HighScoreDatabaseHelper(context, DATABASE_NAME);
+    }
+
+    @After
+    public void deleteDatabase() {
+        helper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void upgrade_keepsBestScoreButNotGames() {
+        SQLiteDatabase db = helper.getWritableDatabase();
+
+        assertEquals(40, helper.compileSelectBestScore(db).simpleQueryForLong());
+        assertEquals(0, helper.compileSelectGameCount(db).simpleQueryForLong());
+        assertEquals(0, helper.getScoreHistogram(db).getTotalGames());
+        assertEquals(0, helper.getRollingAverage(db, ScoreSummary.RECENT_GAMES), 1e-9);
+        assertEquals(40, helper.getTopGames(db, 1).get(0).score);
+    }
+
+    @Test
+    public void gamesAfterUpgrade_areCountedAlone() {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        SQLiteStatement insertGame = helper.compileInsertGame(db);
+        SQLiteStatement countScore = helper.compileCountScore(db);
+        int[] scores = {20, 30};
+        for (int i = 0; i < scores.length; i++) {
+            insertGame.bindLong(1, scores[i]);
+            insertGame.bindLong(2, 3);
+            insertGame.bindLong(3, 1);
+            insertGame.bindLong(4, 0);
+            insertGame.bindLong(5, 1_000L + i);
+            insertGame.executeInsert();
+            countScore.bindLong(1, scores[i]);
+            countScore.executeInsert();
+        }
+
+        assertEquals(40, helper.compileSelectBestScore(db).simpleQueryForLong());
+        assertEquals(2, helper.compileSelectGameCount(db).simpleQueryForLong());
+        assertEquals(20, helper.getScoreHistogram(db).percentile(0.5));
+        assertEquals(25, helper.getRollingAverage(db, ScoreSummary.RECENT_GAMES), 1e-9);
+        List<GameResult> top = helper.getTopGames(db, 3);
+        assertEquals(40, top.get(0).score);
+        assertEquals(30, top.get(1).score);
+    }
+
+    @Test
+    public void bestScore_neverBelowZero() {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        helper.clearScores(db);
+        SQLiteStatement insertGame = helper.compileInsertGame(db);
+        insertGame.bindLong(1, -4); // More blocks starved than cleared
+        insertGame.bindLong(2, 1);
+        insertGame.bindLong(3, 5);
+        insertGame.bindLong(4, 0);
+        insertGame.bindLong(5, 1_000L);
+        insertGame.executeInsert();
+
+        assertEquals(0, helper.compileSelectBestScore(db).simpleQueryForLong());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.cs205;
+
+import android.util.Log;
+
+import com.example.cs205.engine.Logger;
+
+/**
+ * Sends the engine's log messages to logcat. Debug messages are only kept in debug builds.
+ * BuildConfig.DEBUG is the constant false in release builds, so the compiler drops every
+ * Log.d behind it; the app guards its own debug calls the same way.
+ */
+class AndroidLogger implements Logger {
+    @Override
+    public boolean isDebugEnabled() {
+        return BuildConfig.DEBUG;
+    }
+
+    @Override
+    public void d(String tag, String message) {
+        if (BuildConfig.DEBUG) {
+            Log.d(tag, message);
+        }
+    }
+
+    @Override
+    public void w(String tag, String message) {
+        Log.w(tag, message);
+    }
+
+    @Override
+    public void e(String tag, String message, Throwable throwable) {
+        Log.e(tag, message, throwable);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.cs205;
+
+import android.app.Application;
+
+/**
+ * Process entry point. Starts loading the score summary before the first activity is
+ * created, so the main menu can show it without touching the database itself.
+ */
+public class Cs205Application extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Only starts the writer thread; the database is opened there
+        ScoreRepository.getInstance(this);
+    }
+}
@@ -1,34 +1,44 @@
 package com.example.cs205;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Point;
+import android.graphics.Rect;
 import android.os.SystemClock;
 import android.util.Log;
 import android.view.MotionEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.example.cs205.engine.BoardLayout;
+import com.example.cs205.engine.FrameSnapshot;
+import com.example.cs205.engine.GameEngine;
+import com.example.cs205.engine.ReplayRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 /**
- * A class representing the main logic of the game.
+ * A class representing the game on screen: draws the frames published by the GameEngine
+ * and forwards touch input to it. The simulation itself lives in the engine module.
  */
 public class Game {
     // --- Constants ---
-    private final static int GRID_WIDTH = 6; // Number of columns
-    private final static int GRID_HEIGHT = 6; // Number of rows
-    private final static int BLOCK_SPAWN_AREA_HEIGHT = 4; // Rows reserved for spawning new blocks 
+    public final static int DEFAULT_GRID_WIDTH = GameEngine.DEFAULT_GRID_WIDTH; // Default number of columns
+    public final static int DEFAULT_GRID_HEIGHT = GameEngine.DEFAULT_GRID_HEIGHT; // Default number of rows
+    public final static int MIN_GRID_SIZE = GameEngine.MIN_GRID_SIZE; // Smallest board that fits every block shape
+    public final static int MAX_GRID_SIZE = GameEngine.MAX_GRID_SIZE; // Largest board a row/column bitmask can hold
     private final static int targetFps = 30;
-    private final static long BLOCK_SPAWN_INTERVAL = 3000; // Spawn new block every 3s
-    private final static int QUEUE_STATUS_HEIGHT = 60; // Height of queue status display - increased
+    public final static long SIMULATION_STEP_MILLIS = GameEngine.SIMULATION_STEP_MILLIS; // Fixed simulation step advanced by update()
+    private final static int DRAG_POINT_RADIUS = 5; // Radius of the debug dot at the drag point
 
     private final String LOG_TAG = Game.class.getSimpleName();
-    private final Object mutex = new Object();
-    private final Predicate<Consumer<Canvas>> useCanvas;
+    private final BiPredicate<Rect, Consumer<Canvas>> useCanvas; // Draws into the dirty rect, or the whole surface if null
+    private final Consumer<Canvas> drawCallback = this::draw; // Cached so draw() does not allocate a lambda per frame
     private final Runnable runnable;
+    private final GameEngine engine; // Grid, queue, timers and scoring
+    private ReplayRecorder recorder = null; // Set once recording starts, guarded by this
 
     // --- Paints ---
     private final Paint gridPaint = new Paint();
@@ -37,35 +47,66 @@ public class Game {
     private final Paint progressPaint = new Paint();
     private final Paint starvingPaint = new Paint(); // For blocks waiting too long
     private final Paint queueStatusPaint = new Paint(); // For displaying queue status
-
-    // --- Game State ---
-    private int[][] grid = new int[GRID_HEIGHT][GRID_WIDTH]; // Represents the CPU grid: 0 = empty, >0 = process ID + 1
-    private List<ProcessBlock> activeProcesses = new ArrayList<>();
-    private ProcessBlock currentDraggingBlock = null; // Block being dragged by the user
-    private Point dragOffset = new Point(); // Offset from touch point to block's top-left
-    private BlockQueue blockQueue = new BlockQueue(); // Producer-consumer queue for blocks
-    
-    private int width = 0;
-    private int height = 0;
-    private int cellSize = 0; // Size of each grid cell in pixels
-    private int gridOffsetX = 0; // Left offset for centering grid
-    private int gridOffsetY = 0; // Top offset for grid
-    
-    private long lastSpawnTime = 0;
-    private long lastUpdateTime = 0;
-
-    // Grid worker thread
-    private GridWorker gridWorker;
-
-    private List<Integer> clearedProcesses; // process ids cleared from the grid
-    private List<Integer> starvedProcesses; // process ids that were starved
-
-    public Game(final Runnable runnable, final Predicate<Consumer<Canvas>> useCanvas) {
+    private final Paint gridBackgroundPaint = new Paint();
+    private final Paint previewPaint = new Paint(); // Outline of where a dragged block would land
+    private final Paint dragPointPaint = new Paint(); // Debug indicator at the drag point
+    private final Paint slotFramePaint = new Paint(); // Outline of each queue slot
+
+    // --- Static layer: background, grid and queue slot frames, rasterized once per resize ---
+    private final Canvas staticLayerCanvas = new Canvas();
+    private Bitmap staticLayer = null; // Only touched by the render thread
+    private volatile boolean staticLayerValid = false; // Cleared by resize() to request a re-raster
+
+    // --- Dirty region tracking: only changed areas are redrawn, idle frames are skipped ---
+    private volatile boolean dirtyRegionRendering = true;
+    private final Object dirtyLock = new Object();
+    private int dirtyLeft, dirtyTop, dirtyRight, dirtyBottom; // Pending dirty area, empty when right <= left
+    private final Rect frameDirtyRect = new Rect(); // Dirty area handed to the view, render thread only
+    private int lastQueueCount = -1;
+    private int lastDragLeft, lastDragTop, lastDragRight, lastDragBottom; // Dragged block bounds at the last frame
+    private boolean hasLastDrag = false;
+    private final int[] lastCellColors; // Cell colors at the last frame
+    private final int[] lastCellProgressPx; // Progress bar height of each cell at the last frame
+    private final int[] lastQueueIds; // Queue contents at the last frame
+    private final int[] lastQueueColors;
+    private final boolean[] lastQueueDragged;
+
+    // --- Cached status text, rebuilt only when the counters change ---
+    private int cachedQueueSize = -1;
+    private int cachedOverflowCount = -1;
+    private int cachedClearedCount = -1;
+    private String queueStatusText = "";
+    private String overflowText = "";
+    private String clearedText = "";
+
+    // --- Frame being drawn, render thread only ---
+    private final int gridWidth; // Number of columns
+    private final int gridHeight; // Number of rows
+    private BoardLayout layout; // Layout of the frame being drawn
+    private FrameSnapshot frameSnapshot; // State of the frame being drawn
+    private long frameTimeMillis = 0; // Interpolated simulation time of the frame being drawn
+    private int dragPixelX, dragPixelY; // Dragged block position for the frame being drawn
+    private volatile float interpolation = 0f; // Fraction of a step elapsed since the last update
+
+    public Game(final Runnable runnable, final BiPredicate<Rect, Consumer<Canvas>> useCanvas) {
+        this(runnable, useCanvas, DEFAULT_GRID_WIDTH, DEFAULT_GRID_HEIGHT);
+    }
+
+    public Game(final Runnable runnable, final BiPredicate<Rect, Consumer<Canvas>> useCanvas,
+                final int gridWidth, final int gridHeight) {
         this.runnable = runnable;
         this.useCanvas = useCanvas;
+        this.engine = new GameEngine(gridWidth, gridHeight, new AndroidLogger());
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.layout = engine.getLayout();
+        this.lastCellColors = new int[gridWidth * gridHeight];
+        this.lastCellProgressPx = new int[gridWidth * gridHeight];
+        this.lastQueueIds = new int[engine.getQueueCapacity()];
+        this.lastQueueColors = new int[engine.getQueueCapacity()];
+        this.lastQueueDragged = new boolean[engine.getQueueCapacity()];
         
         initPaints();
-        initGame();
     }
     
     // --- Initialization ---
@@ -90,34 +131,52 @@ public class Game {
         queueStatusPaint.setColor(Color.WHITE);
         queueStatusPaint.setTextSize(28); // Increased text size
         queueStatusPaint.setTextAlign(Paint.Align.LEFT);
-    }
 
-    private void initGame() {
-        // Initialize with empty grid already done in field init
-        clearedProcesses = new ArrayList<>();
-        starvedProcesses = new ArrayList<>();
-        lastSpawnTime = SystemClock.elapsedRealtime();
-        produceNewBlock(); // Spawn the first block
-        
-        // Create and start the grid worker
-        gridWorker = new GridWorker(this, GRID_WIDTH, GRID_HEIGHT);
-        gridWorker.startWorker();
+        gridBackgroundPaint.setColor(Color.rgb(20, 20, 50));
+
+        previewPaint.setStyle(Paint.Style.STROKE);
+        previewPaint.setStrokeWidth(2);
+
+        dragPointPaint.setColor(Color.RED);
+
+        slotFramePaint.setColor(Color.rgb(40, 40, 70));
+        slotFramePaint.setStyle(Paint.Style.STROKE);
+        slotFramePaint.setStrokeWidth(2);
     }
-    
+
     public void resize(int width, int height) {
-        this.width = width;
-        this.height = height;
-        
-        // Calculate cell size and grid offset based on available space
-        cellSize = Math.min(width / GRID_WIDTH, height / (GRID_HEIGHT + BLOCK_SPAWN_AREA_HEIGHT));
-        gridOffsetX = (width - (GRID_WIDTH * cellSize)) / 2;
-        gridOffsetY = 20; // Small top margin
+        engine.setLayout(new BoardLayout(width, height, gridWidth, gridHeight));
+
+        // The static layer has to be rasterized again for the new layout
+        staticLayerValid = false;
+        invalidate(0, 0, width, height);
     }
     
     public void draw() {
+        // The whole frame is drawn from one layout and one snapshot
+        layout = engine.getLayout();
+        frameSnapshot = engine.acquireFrame();
+
+        // Render between the last two simulation steps for smooth progress bars. The snapshot is
+        // only republished when something changes, so its own time can be far behind the simulation.
+        frameTimeMillis = engine.getSimulationTime() + (long) (interpolation * SIMULATION_STEP_MILLIS);
+
+        // Work out which parts of the screen changed since the last frame
+        collectFrameChanges();
+
+        Rect dirty = null; // null = redraw the whole surface
+        if (dirtyRegionRendering) {
+            if (!takeDirtyRegion(frameDirtyRect)) {
+                return; // Nothing changed, skip the frame
+            }
+            dirty = frameDirtyRect;
+        } else {
+            takeDirtyRegion(frameDirtyRect); // Discard, everything is redrawn anyway
+        }
+
         // Pass drawing method to the GameView's useCanvas method
         try {
-            boolean success = useCanvas.test(this::draw);
+            boolean success = useCanvas.test(dirty, drawCallback);
             if (!success) {
                 Log.w(LOG_TAG, "Failed to draw - canvas operation returned false");
             }
@@ -131,11 +190,8 @@ public class Game {
             return;
         }
         
-        // Clear the canvas
-        canvas.drawColor(Color.BLACK);
-        
-        // Draw the grid
-        drawGrid(canvas);
+        // Draw the background and grid from the cached static layer
+        drawStaticLayer(canvas);
         
         // Draw placed blocks on the grid
         drawPlacedBlocks(canvas);
@@ -147,96 +203,215 @@ public class Game {
         drawQueueStatus(canvas);
         
         // Draw the currently dragging block, if any
-        if (currentDraggingBlock != null) {
-            // Ensure we're always drawing with the most current values
+        if (frameSnapshot.dragging) {
             drawDraggingBlock(canvas);
         }
     }
     
+    /**
+     * Enable or disable dirty-region rendering.
+     * When disabled every frame redraws the whole surface, as before.
+     */
+    public void setDirtyRegionRendering(boolean enabled) {
+        dirtyRegionRendering = enabled;
+        BoardLayout current = engine.getLayout();
+        invalidate(0, 0, current.width, current.height);
+    }
+
+    // Mark an area of the surface as needing a redraw, callable from any thread
+    private void invalidate(int left, int top, int right, int bottom) {
+        if (right <= left || bottom <= top) return;
+        synchronized (dirtyLock) {
+            if (dirtyRight <= dirtyLeft) {
+                dirtyLeft = left;
+                dirtyTop = top;
+                dirtyRight = right;
+                dirtyBottom = bottom;
+            } else {
+                dirtyLeft = Math.min(dirtyLeft, left);
+                dirtyTop = Math.min(dirtyTop, top);
+                dirtyRight = Math.max(dirtyRight, right);
+                dirtyBottom = Math.max(dirtyBottom, bottom);
+            }
+        }
+    }
+
+    // Mark the whole grid (including its border) as needing a redraw
+    private void invalidateGrid() {
+        invalidate(layout.gridOffsetX - 2, layout.gridOffsetY - 2,
+                layout.gridRight() + 2, layout.gridBottom() + 2);
+    }
+
+    // Move the pending dirty area into out and reset it; returns false if nothing is dirty
+    private boolean takeDirtyRegion(Rect out) {
+        synchronized (dirtyLock) {
+            if (dirtyRight <= dirtyLeft) {
+                return false;
+            }
+            out.set(dirtyLeft, dirtyTop, dirtyRight, dirtyBottom);
+            dirtyRight = dirtyLeft; // Empty
+            return true;
+        }
+    }
+
+    /**
+     * Work out which parts of the screen changed since the last frame: grid cells, queue
+     * contents, status counters, progress bars and the dragged block. Runs on the render
+     * thread every frame, even when the frame itself ends up being skipped.
+     */
+    private void collectFrameChanges() {
+        int queueAreaTop = layout.gridBottom();
+        int statusTop = layout.statusBaseline() - 40;
+        FrameSnapshot frame = frameSnapshot;
+
+        // Cells whose owner changed, or whose progress bar grew by at least a pixel
+        for (int cell = 0; cell < frame.cellColors.length; cell++) {
+            int color = frame.cellColors[cell];
+            int progressPx = color != 0 ? (int) (layout.cellSize * frame.progressAt(cell, frameTimeMillis)) : 0;
+            if (color != lastCellColors[cell] || progressPx != lastCellProgressPx[cell]) {
+                lastCellColors[cell] = color;
+                lastCellProgressPx[cell] = progressPx;
+                int pixelX = layout.gridOffsetX + (cell % gridWidth) * layout.cellSize;
+                int pixelY = layout.gridOffsetY + (cell / gridWidth) * layout.cellSize;
+                invalidate(pixelX, pixelY, pixelX + layout.cellSize, pixelY + layout.cellSize);
+            }
+        }
+
+        // Queue contents
+        boolean queueChanged = frame.queueCount != lastQueueCount;
+        for (int i = 0; i < frame.queueCount; i++) {
+            if (lastQueueIds[i] != frame.queueIds[i] || lastQueueColors[i] != frame.queueColors[i]
+                    || lastQueueDragged[i] != frame.queueDragged[i]) {
+                lastQueueIds[i] = frame.queueIds[i];
+                lastQueueColors[i] = frame.queueColors[i];
+                lastQueueDragged[i] = frame.queueDragged[i];
+                queueChanged = true;
+            }
+        }
+        lastQueueCount = frame.queueCount;
+        if (queueChanged) {
+            invalidate(0, queueAreaTop, layout.width, statusTop);
+        }
+
+        // Status text
+        if (updateStatusText(frame.queueCount, engine.getQueueCapacity(),
+                frame.overflowCount, frame.clearedCount)) {
+            invalidate(0, statusTop, layout.width, layout.height);
+        }
+
+        // The dragged block: clear where it was, draw where it is, and refresh the preview on the grid
+        if (hasLastDrag) {
+            invalidate(lastDragLeft, lastDragTop, lastDragRight, lastDragBottom);
+            hasLastDrag = false;
+        }
+        // Drain the touch samples every frame, so the next drag starts from fresh ones. The drag is
+        // drawn where the finger should be when this frame is shown, one frame from now;
+        // touch samples are timed on the uptime clock.
+        long touch = engine.predictTouchPosition(SystemClock.uptimeMillis() * 1_000_000L,
+                getSleepTime() * 1_000_000L);
+        if (frame.dragging) {
+            dragPixelX = (int) (GameEngine.touchX(touch) - frame.dragOffsetX);
+            dragPixelY = (int) (GameEngine.touchY(touch) - frame.dragOffsetY);
+            lastDragLeft = dragPixelX - DRAG_POINT_RADIUS;
+            lastDragTop = dragPixelY - DRAG_POINT_RADIUS;
+            lastDragRight = dragPixelX + frame.dragWidth * layout.cellSize + DRAG_POINT_RADIUS;
+            lastDragBottom = dragPixelY + frame.dragShape.length * layout.cellSize + DRAG_POINT_RADIUS;
+            hasLastDrag = true;
+            invalidate(lastDragLeft, lastDragTop, lastDragRight, lastDragBottom);
+            invalidateGrid();
+        }
+    }
+
+    private void drawStaticLayer(Canvas canvas) {
+        if (layout.width <= 0 || layout.height <= 0) {
+            // No layout yet, nothing to cache
+            drawStaticContent(canvas);
+            return;
+        }
+        if (!staticLayerValid) {
+            rasterizeStaticLayer();
+        }
+        canvas.drawBitmap(staticLayer, 0, 0, null);
+    }
+
+    // Render the content that only changes on resize into the offscreen bitmap
+    private void rasterizeStaticLayer() {
+        staticLayerValid = true; // Set first so a resize while rasterizing invalidates it again
+        if (staticLayer == null || staticLayer.getWidth() != layout.width || staticLayer.getHeight() != layout.height) {
+            if (staticLayer != null) {
+                staticLayer.recycle();
+            }
+            // Opaque content, so 16-bit pixels halve the memory and blit cost
+            staticLayer = Bitmap.createBitmap(layout.width, layout.height, Bitmap.Config.RGB_565);
+        }
+        staticLayerCanvas.setBitmap(staticLayer);
+        drawStaticContent(staticLayerCanvas);
+        staticLayerCanvas.setBitmap(null);
+    }
+
+    private void drawStaticContent(Canvas canvas) {
+        // Clear the canvas
+        canvas.drawColor(Color.BLACK);
+
+        // Draw the grid
+        drawGrid(canvas);
+
+        // Draw the frames of the queue slots
+        drawQueueSlotFrames(canvas);
+    }
+
+    private void drawQueueSlotFrames(Canvas canvas) {
+        for (int i = 0; i < engine.getQueueCapacity(); i++) {
+            int slotX = layout.queueSlotX(i);
+            int slotY = layout.queueSlotY(i);
+            canvas.drawRect(
+                slotX - layout.queueColSpacing / 2f,
+                slotY - BoardLayout.QUEUE_ROW_SPACING / 2f,
+                slotX + layout.queueSlotSize + layout.queueColSpacing / 2f,
+                slotY + layout.queueSlotSize * 2 + BoardLayout.QUEUE_ROW_SPACING / 2f,
+                slotFramePaint
+            );
+        }
+    }
+
     private void drawGrid(Canvas canvas) {
         // Draw grid background
-        Paint bgPaint = new Paint();
-        bgPaint.setColor(Color.rgb(20, 20, 50));
         canvas.drawRect(
-            gridOffsetX, 
-            gridOffsetY, 
-            gridOffsetX + GRID_WIDTH * cellSize, 
-            gridOffsetY + GRID_HEIGHT * cellSize, 
-            bgPaint
+            layout.gridOffsetX, 
+            layout.gridOffsetY, 
+            layout.gridRight(), 
+            layout.gridBottom(), 
+            gridBackgroundPaint
         );
         
         // Draw grid lines
-        for (int i = 0; i <= GRID_WIDTH; i++) {
-            canvas.drawLine(
-                gridOffsetX + i * cellSize, 
-                gridOffsetY, 
-                gridOffsetX + i * cellSize, 
-                gridOffsetY + GRID_HEIGHT * cellSize, 
-                gridPaint
-            );
-        }
-        
-        for (int i = 0; i <= GRID_HEIGHT; i++) {
-            canvas.drawLine(
-                gridOffsetX, 
-                gridOffsetY + i * cellSize, 
-                gridOffsetX + GRID_WIDTH * cellSize, 
-                gridOffsetY + i * cellSize, 
-                gridPaint
-            );
-        }
+        canvas.drawLines(layout.getGridLinePoints(), gridPaint);
     }
     
     private void drawPlacedBlocks(Canvas canvas) {
-        synchronized (mutex) {
-            for (ProcessBlock block : activeProcesses) {
-                if (block.isPlaced && block != currentDraggingBlock) {
-                    int pixelX = gridOffsetX + block.position.x * cellSize;
-                    int pixelY = gridOffsetY + block.position.y * cellSize;
-                    drawBlock(canvas, block, pixelX, pixelY, cellSize);
-                }
+        FrameSnapshot frame = frameSnapshot;
+        for (int y = 0; y < gridHeight; y++) {
+            long row = frame.occupancy[y];
+            while (row != 0) {
+                int x = Long.numberOfTrailingZeros(row);
+                row &= row - 1;
+                int cell = y * gridWidth + x;
+                drawCell(canvas, layout.gridOffsetX + x * layout.cellSize, layout.gridOffsetY + y * layout.cellSize,
+                        frame.cellColors[cell], frame.progressAt(cell, frameTimeMillis), layout.cellSize);
             }
         }
     }
     
     private void drawWaitingBlocks(Canvas canvas) {
-        // Get all blocks in the queue
-        ProcessBlock[] queuedBlocks = blockQueue.getQueuedBlocks();
-        
         // Draw blocks in two rows, 3 in each row
-        int cellSizeForQueue = Math.min(cellSize, (width - 40) / 3);
-        int rowSpacing = 20;
-        int colSpacing = (width - 3 * cellSizeForQueue) / 4;
-        int queueCellSize = (int)(cellSize * 0.6f); // Smaller block for queue
+        FrameSnapshot frame = frameSnapshot;
+        int queueCellSize = (int)(layout.queueUnitSize * 0.6f); // Smaller block for queue
         
-        for (int i = 0; i < queuedBlocks.length && i < 6; i++) {
-            ProcessBlock block = queuedBlocks[i];
-            int row = i / 3; // 0 for first row, 1 for second row
-            int col = i % 3; // 0, 1, or 2 for columns
-            
-            int pixelX = colSpacing + col * (cellSizeForQueue + colSpacing);
-            int pixelY = gridOffsetY + GRID_HEIGHT * cellSize + rowSpacing + 
-                       row * (cellSizeForQueue * 2 + rowSpacing);
-            
-            // Store the drawing position for touch detection
-            block.tempDrawX = pixelX;
-            block.tempDrawY = pixelY;
-            block.tempDrawCellSize = cellSizeForQueue;
-
-            if (block.isBeingDragged) {
-                drawBlock(canvas, block, pixelX, pixelY, cellSize); // full size
-            } else {
-                drawBlock(canvas, block, pixelX, pixelY, queueCellSize); // small
-            }
-            
-            // Indicate starving blocks with a red outline
-            if (block.isStarving()) {
-                block.color = Color.RED; // Change color to red for starving blocks
-                // add this process to the list of starved processes
-                if (!starvedProcesses.contains(block.id)) {
-                    starvedProcesses.add(block.id);
-                }
-            }
+        for (int i = 0; i < frame.queueCount; i++) {
+            // Queued blocks have not run yet, so there is no progress to show
+            int size = frame.queueDragged[i] ? layout.cellSize : queueCellSize; // full size while dragged
+            drawShape(canvas, frame.queueShapes[i], frame.queueWidths[i], frame.queueColors[i], 0f,
+                    layout.queueSlotX(i), layout.queueSlotY(i), size);
         }
     }
     
@@ -244,31 +419,23 @@ public class Game {
      * Draw queue status information
      */
     private void drawQueueStatus(Canvas canvas) {
-        int queueSize = blockQueue.getSize();
-        int queueCapacity = 6;
-        int overflowCount = blockQueue.getOverflowCount();
-        
-        String queueStatus = "PROCESS QUEUE: " + queueSize + "/" + queueCapacity;
+        // Use the counters the cached text was built from, so text and colors agree
+        int queueSize = cachedQueueSize;
+        int queueCapacity = engine.getQueueCapacity();
+        int overflowCount = cachedOverflowCount;
         
         // Display warning if queue is getting full
         if (queueSize == queueCapacity) {
             queueStatusPaint.setColor(Color.RED);
-            queueStatus += " (FULL)";
         } else if (queueSize >= queueCapacity * 2/3) {
             queueStatusPaint.setColor(Color.YELLOW);
-            queueStatus += " (WARNING)";
         } else {
             queueStatusPaint.setColor(Color.WHITE);
         }
         
         // Draw main status text
-        int y = gridOffsetY + GRID_HEIGHT * cellSize + 
-                2 * (cellSize * 2 + 20) + 30;
-        canvas.drawText(queueStatus, 20, y, queueStatusPaint);
-        
-        // Draw overflow count on the next line
-        String overflowText = "OVERFLOW COUNT: " + overflowCount + 
-                              " (Blocks lost due to full queue)";
+        int y = layout.statusBaseline();
+        canvas.drawText(queueStatusText, 20, y, queueStatusPaint);
         
         // Use red for overflow text if there are any overflows
         if (overflowCount > 0) {
@@ -280,45 +447,67 @@ public class Game {
         // Draw overflow text on the next line
         canvas.drawText(overflowText, 20, y + 35, queueStatusPaint);
 
-        // Add cleared processes count below
-        int clearedCount = clearedProcesses != null ? clearedProcesses.size() : 0;
-        String clearedText = "CLEARED PROCESSES: " + clearedCount;
-        queueStatusPaint.setColor(Color.GREEN);
-
         // Draw cleared processes text on the next line
+        queueStatusPaint.setColor(Color.GREEN);
         canvas.drawText(clearedText, 20, y + 70, queueStatusPaint);
     }
+
+    // Rebuild the status strings only when one of the displayed counters has changed
+    // Returns true if any of them changed
+    private boolean updateStatusText(int queueSize, int queueCapacity, int overflowCount, int clearedCount) {
+        boolean changed = false;
+        if (queueSize != cachedQueueSize) {
+            changed = true;
+            cachedQueueSize = queueSize;
+            String queueStatus = "PROCESS QUEUE: " + queueSize + "/" + queueCapacity;
+            if (queueSize == queueCapacity) {
+                queueStatus += " (FULL)";
+            } else if (queueSize >= queueCapacity * 2/3) {
+                queueStatus += " (WARNING)";
+            }
+            queueStatusText = queueStatus;
+        }
+        if (overflowCount != cachedOverflowCount) {
+            changed = true;
+            cachedOverflowCount = overflowCount;
+            overflowText = "OVERFLOW COUNT: " + overflowCount + 
+                           " (Blocks lost due to full queue)";
+        }
+        if (clearedCount != cachedClearedCount) {
+            changed = true;
+            cachedClearedCount = clearedCount;
+            clearedText = "CLEARED PROCESSES: " + clearedCount;
+        }
+        return changed;
+    }
     
     private void drawDraggingBlock(Canvas canvas) {
-        synchronized (mutex) {
-            if (currentDraggingBlock != null) {
-                // Draw shadow/preview if over grid
-                int pixelX = currentDraggingBlock.tempDrawX;
-                int pixelY = currentDraggingBlock.tempDrawY;
-                
-                if (isOverGrid(pixelX, pixelY)) {
-                    int gridX = (pixelX - gridOffsetX) / cellSize;
-                    int gridY = (pixelY - gridOffsetY) / cellSize;
-                    drawPlacementPreview(canvas, currentDraggingBlock, gridX, gridY);
-                }
-                
-                // Draw the actual dragging block
-                drawBlock(canvas, currentDraggingBlock, pixelX, pixelY, cellSize);
-                
-                // Add a debug indicator - red dot at drag point for visibility
-                Paint debugPaint = new Paint();
-                debugPaint.setColor(Color.RED);
-                canvas.drawCircle(pixelX, pixelY, 5, debugPaint);
-            }
+        FrameSnapshot frame = frameSnapshot;
+
+        // Draw shadow/preview if over grid
+        int pixelX = dragPixelX;
+        int pixelY = dragPixelY;
+        if (layout.isOverGrid(pixelX, pixelY)) {
+            int gridX = (pixelX - layout.gridOffsetX) / layout.cellSize;
+            int gridY = (pixelY - layout.gridOffsetY) / layout.cellSize;
+            drawPlacementPreview(canvas, frame, gridX, gridY);
         }
+
+        // Draw the actual dragging block
+        drawShape(canvas, frame.dragShape, frame.dragWidth, frame.dragColor, frame.dragProgress,
+                pixelX, pixelY, layout.cellSize);
+
+        // Add a debug indicator - red dot at drag point for visibility
+        canvas.drawCircle(pixelX, pixelY, DRAG_POINT_RADIUS, dragPointPaint);
     }
     
-    private void drawBlock(Canvas canvas, ProcessBlock block, int pixelX, int pixelY, int cellSize) {
-        for (int y = 0; y < block.getHeight(); y++) {
-            for (int x = 0; x < block.getWidth(); x++) {
-                if (block.shape[y][x] == 1) {
-                    drawCell(canvas, pixelX + x * cellSize, pixelY + y * cellSize, 
-                            block.color, block.getProgress(), cellSize);
+    // Draw a compiled shape (one bitmask per row) with its top-left corner at the given pixel
+    private void drawShape(Canvas canvas, long[] shape, int shapeWidth, int color, float progress,
+                           int pixelX, int pixelY, int cellSize) {
+        for (int y = 0; y < shape.length; y++) {
+            for (int x = 0; x < shapeWidth; x++) {
+                if ((shape[y] & (1L << x)) != 0) {
+                    drawCell(canvas, pixelX + x * cellSize, pixelY + y * cellSize, color, progress, cellSize);
                 }
             }
         }
@@ -342,25 +531,23 @@ public class Game {
         }
     }
     
-    private void drawPlacementPreview(Canvas canvas, ProcessBlock block, int gridX, int gridY) {
-        boolean canPlace = canPlaceBlock(block, gridX, gridY);
+    private void drawPlacementPreview(Canvas canvas, FrameSnapshot frame, int gridX, int gridY) {
+        boolean canPlace = frame.canPlace(frame.dragShape, frame.dragWidth, gridX, gridY);
         
-        Paint previewPaint = new Paint();
         previewPaint.setColor(canPlace ? Color.GREEN : Color.RED);
-        previewPaint.setStyle(Paint.Style.STROKE);
-        previewPaint.setStrokeWidth(2);
         
-        int pixelX = gridOffsetX + gridX * cellSize;
-        int pixelY = gridOffsetY + gridY * cellSize;
+        int pixelX = layout.gridOffsetX + gridX * layout.cellSize;
+        int pixelY = layout.gridOffsetY + gridY * layout.cellSize;
         
-        for (int y = 0; y < block.getHeight(); y++) {
-            for (int x = 0; x < block.getWidth(); x++) {
-                if (block.shape[y][x] == 1) {
+        long[] shape = frame.dragShape;
+        for (int y = 0; y < shape.length; y++) {
+            for (int x = 0; x < frame.dragWidth; x++) {
+                if ((shape[y] & (1L << x)) != 0) {
                     canvas.drawRect(
-                        pixelX + x * cellSize,
-                        pixelY + y * cellSize,
-                        pixelX + x * cellSize + cellSize,
-                        pixelY + y * cellSize + cellSize,
+                        pixelX + x * layout.cellSize,
+                        pixelY + y * layout.cellSize,
+                        pixelX + x * layout.cellSize + layout.cellSize,
+                        pixelY + y * layout.cellSize + layout.cellSize,
                         previewPaint
                     );
                 }
@@ -368,487 +555,164 @@ public class Game {
         }
     }
     
-    private boolean isOverGrid(int pixelX, int pixelY) {
-        return pixelX >= gridOffsetX && 
-               pixelX < gridOffsetX + GRID_WIDTH * cellSize &&
-               pixelY >= gridOffsetY && 
-               pixelY < gridOffsetY + GRID_HEIGHT * cellSize;
-    }
-    
+    /**
+     * Advance the simulation by one fixed step of SIMULATION_STEP_MILLIS
+     */
     public void update() {
-        long currentTime = SystemClock.elapsedRealtime();
-        long deltaTime = currentTime - lastUpdateTime;
-        lastUpdateTime = currentTime;
-        
-        synchronized (mutex) {
-            // Grid operations are now handled by GridWorker
-            
-            // Only handle spawning new blocks here
-            if (currentTime - lastSpawnTime > BLOCK_SPAWN_INTERVAL) {
-                // Always try to produce a new block on timer
-                produceNewBlock();
-                lastSpawnTime = currentTime;
-            }
-        }
+        engine.update();
     }
-    
-    private void produceNewBlock() {
-        boolean isFull = blockQueue.isFull();
-        if (isFull) {
-            // Queue is full, cannot produce new block
-            Log.d(LOG_TAG, "Queue is full, cannot produce new block");
-            return;
-        }
-        ProcessBlock newBlock = ProcessBlock.createRandomProcess();
-        newBlock.position = new Point(-1, -1); // Mark as off-grid initially
-        
-        boolean added = blockQueue.produce(newBlock);
-        if (added) {
-            synchronized (mutex) {
-                activeProcesses.add(newBlock);
-            }
-            Log.d(LOG_TAG, "Produced new block: ID " + newBlock.id);
-        } else {
-            // Block wasn't added due to full queue
-            // Note: BlockQueue already increments the overflow counter internally
-            Log.d(LOG_TAG, "Failed to produce new block - queue full (overflow count: " + 
-                  blockQueue.getOverflowCount() + ")");
-        }
+
+    /**
+     * Set how far (0 to 1) the next frame lies between the last simulation step and the next one
+     */
+    public void setInterpolation(float interpolation) {
+        this.interpolation = interpolation;
     }
-    
-    // Check if a block can be placed at the target grid position
-    private boolean canPlaceBlock(ProcessBlock block, int gridX, int gridY) {
-        if (block == null) return false;
-
-        for (int y = 0; y < block.getHeight(); y++) {
-            for (int x = 0; x < block.getWidth(); x++) {
-                if (block.shape[y][x] == 1) {
-                    int checkX = gridX + x;
-                    int checkY = gridY + y;
-
-                    // Check grid boundaries
-                    if (checkX < 0 || checkX >= GRID_WIDTH || checkY < 0 || checkY >= GRID_HEIGHT) {
-                        return false; // Out of bounds
-                    }
-
-                    // Check for collision with existing blocks on the grid
-                    if (grid[checkY][checkX] != 0) {
-                        return false; // Cell occupied
-                    }
-                }
-            }
-        }
-        return true;
+
+    /**
+     * Get the current simulation time in milliseconds since the game started
+     */
+    public long getSimulationTime() {
+        return engine.getSimulationTime();
     }
 
-    // Place a block onto the grid data structure
-    public boolean placeBlockOnGrid(ProcessBlock block, int gridX, int gridY) {
-        if (block == null || !canPlaceBlock(block, gridX, gridY)) return false;
+    /**
+     * Get the simulation core driven by this game
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
 
-        block.position.set(gridX, gridY);
-        block.isPlaced = true;
-        block.startTimer();
+    // --- Input ---
+    // Called on the UI thread and handed to the engine, which applies it at the next step
 
-        // Update the grid data structure
-        synchronized (mutex) {
-            for (int y = 0; y < block.getHeight(); y++) {
-                for (int x = 0; x < block.getWidth(); x++) {
-                    if (block.shape[y][x] == 1) {
-                        grid[gridY + y][gridX + x] = block.id + 1; // +1 to avoid 0 (empty cell)
-                    }
-                }
-            }
-        }
-        return true;
+    public void touchDown(float touchX, float touchY) {
+        engine.touchDown(touchX, touchY);
     }
 
-    private void removeFromGrid(ProcessBlock block) {
-        if (block == null || !block.isPlaced) return;
-
-        int gridX = block.position.x;
-        int gridY = block.position.y;
+    public void touchMove(float touchX, float touchY) {
+        engine.touchMove(touchX, touchY);
+    }
 
-        // Clear grid cells
-        synchronized (mutex) {
-            for (int y = 0; y < block.getHeight(); y++) {
-                for (int x = 0; x < block.getWidth(); x++) {
-                    if (block.shape[y][x] == 1) {
-                        int clearX = gridX + x;
-                        int clearY = gridY + y;
-                        if (clearX >= 0 && clearX < GRID_WIDTH && clearY >= 0 && clearY < GRID_HEIGHT) {
-                            grid[clearY][clearX] = 0;
-                        }
-                    }
-                }
-            }
-        }
+    // Timed variants, which also feed the drag prediction; times in nanoseconds on the uptime clock
 
-        block.isPlaced = false;
+    public void touchDown(long timeNanos, float touchX, float touchY) {
+        engine.touchDown(timeNanos, touchX, touchY);
     }
 
-    public void checkAndClearLines() {
-        boolean needShift = false;
-        
-        // Check for filled rows
-        synchronized (mutex) {
-            for (int y = GRID_HEIGHT - 1; y >= 0; y--) {
-                boolean rowFilled = true;
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    if (grid[y][x] == 0) {
-                        rowFilled = false;
-                        break;
-                    }
-                }
-                
-                if (rowFilled) {
-                    // Clear this row
-                    for (int x = 0; x < GRID_WIDTH; x++) {
-                        // Find and update the block that occupies this cell
-                        int blockId = grid[y][x] - 1; // -1 to get actual ID
-                        ProcessBlock block = findProcessById(blockId);
-                        if (block != null) {
-                            removeFromGrid(block);
-                        }
-                        grid[y][x] = 0;
-                        if (!clearedProcesses.contains(blockId)) {
-                            clearedProcesses.add(blockId);
-                        }
-                    }
-                    needShift = true;
-                }
-            }
-            
-            // Check for filled columns
-            for (int x = 0; x < GRID_WIDTH; x++) {
-                boolean colFilled = true;
-                for (int y = 0; y < GRID_HEIGHT; y++) {
-                    if (grid[y][x] == 0) {
-                        colFilled = false;
-                        break;
-                    }
-                }
-                
-                if (colFilled) {
-                    // Clear this column
-                    for (int y = 0; y < GRID_HEIGHT; y++) {
-                        // Find and update the block that occupies this cell
-                        int blockId = grid[y][x] - 1; // -1 to get actual ID
-                        ProcessBlock block = findProcessById(blockId);
-                        if (block != null) {
-                            removeFromGrid(block);
-                        }
-                        grid[y][x] = 0;
-                        if (!clearedProcesses.contains(blockId)) {
-                            clearedProcesses.add(blockId);
-                        }
-                    }
-                    needShift = true;
-                }
-            }
-        }
-    }
-    
-    private ProcessBlock findProcessById(int id) {
-        for (ProcessBlock process : activeProcesses) {
-            if (process.id == id) {
-                return process;
-            }
-        }
-        return null;
-    }
-    
-    public ProcessBlock findBlockAtTouch(float touchX, float touchY) {
-        // First check if touch is on a waiting block in the queue
-        ProcessBlock[] queuedBlocks = blockQueue.getQueuedBlocks();
-        for (ProcessBlock block : queuedBlocks) {
-            if (block.tempDrawX >= 0) {
-                int blockWidth = block.getWidth() * block.tempDrawCellSize;
-                int blockHeight = block.getHeight() * block.tempDrawCellSize;
-                
-                if (touchX >= block.tempDrawX && 
-                    touchX < block.tempDrawX + blockWidth &&
-                    touchY >= block.tempDrawY && 
-                    touchY < block.tempDrawY + blockHeight) {
-                    return block;
-                }
-            }
-        }
-        
-        // Then check if touch is on a placed block
-        synchronized (mutex) {
-            if (isOverGrid((int)touchX, (int)touchY)) {
-                int gridX = (int)((touchX - gridOffsetX) / cellSize);
-                int gridY = (int)((touchY - gridOffsetY) / cellSize);
-                
-                if (gridX >= 0 && gridX < GRID_WIDTH && gridY >= 0 && gridY < GRID_HEIGHT) {
-                    int blockId = grid[gridY][gridX] - 1; // -1 to get actual ID
-                    if (blockId >= 0) {
-                        return findProcessById(blockId);
-                    }
-                }
-            }
-        }
-        
-        return null;
-    }
-    
-    public void startDragging(ProcessBlock block, float touchX, float touchY) {
-        block.isBeingDragged = true;
-        if (block != null) {
-            Log.d(LOG_TAG, "Starting to drag block ID: " + block.id);
-            currentDraggingBlock = block;
-            
-            // Calculate drag offset based on touch location within block
-            if (!block.isPlaced) {
-                dragOffset.x = (int)(touchX - block.tempDrawX);
-                dragOffset.y = (int)(touchY - block.tempDrawY);
-                
-                // Remove from queue when dragging starts (consumer action)
-                blockQueue.consumeNonBlocking();
-            } else {
-                synchronized (mutex) {
-                    // Remove from grid if it was placed
-                    removeFromGrid(block);
-                    
-                    int pixelX = gridOffsetX + block.position.x * cellSize;
-                    int pixelY = gridOffsetY + block.position.y * cellSize;
-                    dragOffset.x = (int)(touchX - pixelX);
-                    dragOffset.y = (int)(touchY - pixelY);
-                }
-            }
-        }
-    }
-    
-    public void updateDragging(float touchX, float touchY) {
-        synchronized (mutex) {
-            if (currentDraggingBlock != null) {
-                // Update the block's drawing position
-                int oldX = currentDraggingBlock.tempDrawX;
-                int oldY = currentDraggingBlock.tempDrawY;
-                
-                currentDraggingBlock.tempDrawX = (int)(touchX - dragOffset.x);
-                currentDraggingBlock.tempDrawY = (int)(touchY - dragOffset.y);
-                currentDraggingBlock.tempDrawCellSize = cellSize;
-                
-                Log.d(LOG_TAG, "Dragging block ID: " + currentDraggingBlock.id + 
-                      " from (" + oldX + "," + oldY + ") to (" + 
-                      currentDraggingBlock.tempDrawX + "," + currentDraggingBlock.tempDrawY + ")");
-            }
-        }
+    public void touchMove(long timeNanos, float touchX, float touchY) {
+        engine.touchMove(timeNanos, touchX, touchY);
     }
 
-    public void stopDragging(float touchX, float touchY) {
-        synchronized (mutex) {
-            if (currentDraggingBlock != null) {
-                // Check if over grid
-                if (isOverGrid((int)touchX, (int)touchY)) {
-                    int gridX = (int)((touchX - dragOffset.x - gridOffsetX) / cellSize);
-                    int gridY = (int)((touchY - dragOffset.y - gridOffsetY) / cellSize);
-
-                    // Try to place the block
-                    placeBlockOnGrid(currentDraggingBlock, gridX, gridY);
-                }
-
-                currentDraggingBlock.isBeingDragged = false;  // ✅ Put this BEFORE nulling
-                currentDraggingBlock = null;
-            }
-        }
+    public void touchUp(float touchX, float touchY) {
+        engine.touchUp(touchX, touchY);
     }
-    
+
     public void click(MotionEvent event) {
         // Handle click events, can be used for block rotation, etc.
-        Log.d(LOG_TAG, "click event");
-    }
-    
-    public long getSleepTime() {
-        synchronized (mutex) {
-            // Use a shorter sleep time when dragging for smoother interaction
-            if (currentDraggingBlock != null) {
-                return 8; // About 120 FPS for dragging
-            }
-            return 1000 / targetFps;
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "click event");
         }
     }
 
-    public void shutdown() {
-        if (gridWorker != null) {
-            gridWorker.stopWorker();
-        }
-    }
-    
-    public void pauseGame() {
-        if (gridWorker != null) {
-            gridWorker.pauseWorker();
-        }
+    /**
+     * Check whether a block is being dragged, as of the last simulation step
+     */
+    public boolean isDragging() {
+        return engine.isDragging();
     }
     
-    public void resumeGame() {
-        if (gridWorker != null) {
-            gridWorker.resumeWorker();
+    public long getSleepTime() {
+        // Use a shorter sleep time when dragging for smoother interaction
+        if (isDragging()) {
+            return 8; // About 120 FPS for dragging
         }
+        return 1000 / targetFps;
     }
-    
-    /**
-     * Get a copy of the current grid state for safe access from the worker thread
-     */
-    public int[][] getGridState() {
-        synchronized (mutex) {
-            int[][] gridCopy = new int[GRID_HEIGHT][GRID_WIDTH];
-            for (int y = 0; y < GRID_HEIGHT; y++) {
-                System.arraycopy(grid[y], 0, gridCopy[y], 0, GRID_WIDTH);
+
+    public void shutdown() {
+        // Nothing runs in the background any more; kept for callers that end the game
+        engine.shutdown();
+        synchronized (this) {
+            if (recorder != null) {
+                recorder.finish(engine.getSimulationTime());
             }
-            return gridCopy;
         }
     }
-    
+
     /**
-     * Update timers for placed blocks and return a list of blocks that are finished
-     * Called by GridWorker
+     * Record the game to a replay log that ReplayPlayer can play back.
+     * Call before the game loop starts; does nothing if the game was already recorded.
      */
-    public List<ProcessBlock> updatePlacedBlockTimers() {
-        List<ProcessBlock> finishedBlocks = new ArrayList<>();
-        
-        synchronized (mutex) {
-            for (ProcessBlock block : activeProcesses) {
-                if (block.isPlaced && !block.isFinished) {
-                    block.updateTimer();
-                    if (block.isFinished) {
-                        finishedBlocks.add(block);
-                        Log.d(LOG_TAG, "Block " + block.id + " finished");
-                    }
-                }
+    public synchronized void startRecording(File file) {
+        if (recorder != null) {
+            return;
+        }
+        try {
+            recorder = new ReplayRecorder(file.toPath(), gridWidth, gridHeight, engine.getSeed(), new AndroidLogger());
+            engine.setEventListener(recorder);
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Recording replay to " + file);
             }
+        } catch (IOException e) {
+            Log.e(LOG_TAG, "Failed to start replay recording: " + e.getMessage(), e);
         }
-        
-        return finishedBlocks;
     }
     
-    /**
-     * Remove blocks that have finished their execution time
-     * Called by GridWorker
-     */
-    public void removeFinishedBlocks(List<ProcessBlock> finishedBlocks) {
-        if (finishedBlocks.isEmpty()) return;
-        
-        synchronized (mutex) {
-            for (ProcessBlock block : finishedBlocks) {
-                removeFromGrid(block);
-                activeProcesses.remove(block);
-                Log.d(LOG_TAG, "Removed finished block ID: " + block.id);
-                if (!clearedProcesses.contains(block.id)) {
-                    clearedProcesses.add(block.id);
-                }
-            }
-        }
+    public void pauseGame() {
+        engine.pause();
     }
     
-    /**
-     * Clear individual cells from the grid, which may partially remove blocks
-     * Called by GridWorker
-     */
-    public void clearCells(List<Point> cellsToRemove) {
-        if (cellsToRemove.isEmpty()) return;
-        
-        synchronized (mutex) {
-            Log.d(LOG_TAG, "Clearing " + cellsToRemove.size() + " cells from filled lines");
-            
-            // Map of blockId -> list of remaining cells
-            java.util.Map<Integer, List<Point>> remainingBlockCells = new java.util.HashMap<>();
-            
-            // First, clear all cells marked for removal
-            for (Point cell : cellsToRemove) {
-                int x = cell.x;
-                int y = cell.y;
-                
-                if (x >= 0 && x < GRID_WIDTH && y >= 0 && y < GRID_HEIGHT) {
-                    int blockId = grid[y][x] - 1; // -1 to get actual ID
-                    if (blockId >= 0) {
-                        // Clear this cell
-                        grid[y][x] = 0;
-                        
-                        // Track block IDs affected by line clear
-                        if (!remainingBlockCells.containsKey(blockId)) {
-                            remainingBlockCells.put(blockId, new ArrayList<>());
-                        }
-                    }
-                }
-            }
-            
-            // Find all remaining cells for each affected block
-            for (int y = 0; y < GRID_HEIGHT; y++) {
-                for (int x = 0; x < GRID_WIDTH; x++) {
-                    int blockId = grid[y][x] - 1; // -1 to get actual ID
-                    if (blockId >= 0 && remainingBlockCells.containsKey(blockId)) {
-                        remainingBlockCells.get(blockId).add(new Point(x, y));
-                    }
-                }
-            }
-            
-            // Process each affected block
-            for (java.util.Map.Entry<Integer, List<Point>> entry : remainingBlockCells.entrySet()) {
-                int blockId = entry.getKey();
-                List<Point> remainingCells = entry.getValue();
-                ProcessBlock block = findProcessById(blockId);
-                
-                if (block != null) {
-                    if (remainingCells.isEmpty()) {
-                        // Block completely cleared
-                        removeFromGrid(block);
-                        activeProcesses.remove(block);
-                        Log.d(LOG_TAG, "Block " + blockId + " completely cleared by line completion");
-                    } else {
-                        // Block partially cleared - update its shape
-                        updateBlockShapeForPartialClear(block, remainingCells);
-                    }
-                }
-            }
-        }
+    public void resumeGame() {
+        engine.resume();
     }
     
     /**
-     * Update a block's shape when some of its cells are cleared
+     * Get a copy of the current grid owners (0 = empty, >0 = process ID + 1).
+     * Must be called on the simulation thread; other threads should use the published frames.
      */
-    private void updateBlockShapeForPartialClear(ProcessBlock block, List<Point> remainingCells) {
-        // This is a complex operation that would create a new shape for the block
-        // based on remaining cells. For simplicity, we'll just remove the block for now
-        
-        // In a full implementation, we would:
-        // 1. Find the bounding box of remaining cells
-        // 2. Create a new shape array representing just those cells
-        // 3. Update the block's position and shape accordingly
-        
-        Log.d(LOG_TAG, "Block " + block.id + " partially cleared - removing for simplicity");
-        removeFromGrid(block);
-        activeProcesses.remove(block);
+    public int[][] getGridState() {
+        return engine.getGridState();
     }
 
     /**
      * Reset the overflow counter for the block queue
      */
     public void resetOverflowCounter() {
-        if (blockQueue != null) {
-            blockQueue.resetOverflowCount();
-            Log.d(LOG_TAG, "Overflow counter reset");
-        }
+        engine.resetOverflowCounter();
     }
 
     // shutdown the game and return the score
     public int endGame() {
         shutdown();
-        return clearedProcesses.size() - starvedProcesses.size();
+        return engine.getScore();
     }
 
     /**
      * Get the number of processes cleared from the grid
      */
     public int getProcessesCleared() {
-        return clearedProcesses.size();
+        return engine.getProcessesCleared();
     }
 
     /**
      * Get the number of processes that starved
      */
     public int getProcessesStarved() {
-        return starvedProcesses.size();
+        return engine.getProcessesStarved();
+    }
+
+    /**
+     * Get the number of blocks lost because the queue was full
+     */
+    public int getOverflowCount() {
+        return engine.getOverflowCount();
+    }
+
+    /**
+     * Log the latest game events, e.g. after an error. Call on the game thread.
+     */
+    public void dumpEventLog() {
+        engine.getEventLog().dump(new AndroidLogger(), LOG_TAG);
     }
-} 
\ No newline at end of file
+}
@@ -10,16 +10,19 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
-import android.database.sqlite.SQLiteDatabase;
+
 /**
  * A class representing the game activity.
  */
 public class GameActivity extends AppCompatActivity implements Timer.TimerListener {
 
+    public static final String EXTRA_GRID_WIDTH = "com.example.cs205.GRID_WIDTH";
+    public static final String EXTRA_GRID_HEIGHT = "com.example.cs205.GRID_HEIGHT";
+
     private GameView gameView;
     private TextView timerTextView;
     private Timer timer;
-    private HighScoreDatabaseHelper dbHelper;
+    private ScoreRepository scores;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -37,9 +40,16 @@ public class GameActivity extends AppCompatActivity implements Timer.TimerListen
         
         gameView = findViewById(R.id.gameView); // get game view
 
+        // Larger boards can be requested by the launching intent
+        int gridWidth = getIntent().getIntExtra(EXTRA_GRID_WIDTH, Game.DEFAULT_GRID_WIDTH);
+        int gridHeight = getIntent().getIntExtra(EXTRA_GRID_HEIGHT, Game.DEFAULT_GRID_HEIGHT);
+        if (gridWidth != Game.DEFAULT_GRID_WIDTH || gridHeight != Game.DEFAULT_GRID_HEIGHT) {
+            gameView.setGridSize(gridWidth, gridHeight);
+        }
+
         timerTextView = findViewById(R.id.timerTextView); // get timer text view
         timer = new Timer(120000, 1000, this); // 1 minute timer with 1 second interval
-        dbHelper = new HighScoreDatabaseHelper(this);
+        scores = ScoreRepository.getInstance(this);
         
         // Find and configure reset overflow button
 //        Button resetButton = findViewById(R.id.reset_overflow_button);
@@ -55,7 +65,9 @@ public class GameActivity extends AppCompatActivity implements Timer.TimerListen
 //        }
 
         if (!timer.isRunning()) {
-            Log.d("GameActivity", "Timer started");
+            if (BuildConfig.DEBUG) {
+                Log.d("GameActivity", "Timer started");
+            }
             timer.start();
         }
     }
@@ -88,7 +100,9 @@ public class GameActivity extends AppCompatActivity implements Timer.TimerListen
 
     @Override
     public void onFinish() {
-        Log.d("GameActivity", "Timer finished");
+        if (BuildConfig.DEBUG) {
+            Log.d("GameActivity", "Timer finished");
+        }
         timerTextView.setText("Time's up!");
 
         int currentScore = gameView.endGame();
@@ -98,10 +112,19 @@ public class GameActivity extends AppCompatActivity implements Timer.TimerListen
         int processesCleared = game.getProcessesCleared();
         int processesStarved = game.getProcessesStarved();
         
-        saveHighestCounter(currentScore);
+        // Saved in the background; the dialog shows once the best score is known
+        scores.submitGame(new GameResult(currentScore, processesCleared, processesStarved,
+                game.getOverflowCount(), System.currentTimeMillis()));
+        scores.getSummary(summary ->
+                showGameOverDialog(currentScore, summary.bestScore, processesCleared, processesStarved));
+
+        NotificationPublisher.showNotification(this);
+    }
 
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        int highestScore = dbHelper.getHighestScore(db);
+    private void showGameOverDialog(int currentScore, int highestScore, int processesCleared, int processesStarved) {
+        if (isFinishing() || isDestroyed()) {
+            return;
+        }
 
         // Inflate custom layout
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_how_to_play, null);
@@ -133,13 +156,5 @@ public class GameActivity extends AppCompatActivity implements Timer.TimerListen
         });
 
         dialog.show();
-
-        NotificationPublisher.showNotification(this);
-    }
-
-
-    private void saveHighestCounter(int score) {
-        SQLiteDatabase db = dbHelper.getWritableDatabase();
-        dbHelper.saveHighestScore(db, score);
     }
 } 
\ No newline at end of file
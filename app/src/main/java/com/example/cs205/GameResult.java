@@ -0,0 +1,20 @@
+package com.example.cs205;
+
+/**
+ * Outcome of one finished game, as stored in the score database
+ */
+public final class GameResult {
+    public final int score;
+    public final int processesCleared;
+    public final int processesStarved;
+    public final int overflows; // Blocks lost because the queue was full
+    public final long playedAtMillis; // Wall-clock time the game ended, 0 if unknown
+
+    public GameResult(int score, int processesCleared, int processesStarved, int overflows, long playedAtMillis) {
+        this.score = score;
+        this.processesCleared = processesCleared;
+        this.processesStarved = processesStarved;
+        this.overflows = overflows;
+        this.playedAtMillis = playedAtMillis;
+    }
+}
@@ -1,31 +1,64 @@
 package com.example.cs205;
 
+import android.os.Looper;
 import android.os.SystemClock;
 import android.util.Log;
+import android.view.Choreographer;
+
+import com.example.cs205.engine.FixedStepLoop;
 
 /**
  * A class representing the game loop.
+ * The simulation advances in fixed steps of Game.SIMULATION_STEP_MILLIS through a
+ * FixedStepLoop, independently of how long frames take to draw, and each frame is rendered
+ * with the fraction of a step left over so it can interpolate between steps.
+ * Frames are scheduled from display vsync callbacks when available, with a sleep-based
+ * loop as the fallback.
  */
-public class GameThread extends Thread {
+public class GameThread extends Thread implements Choreographer.FrameCallback {
     private static final String LOG_TAG = GameThread.class.getSimpleName();
+    private static final long DEFAULT_VSYNC_PERIOD_NANOS = 16_666_667L; // 60 Hz until measured
+    private static final long MAX_VSYNC_PERIOD_NANOS = 50_000_000L; // Longer gaps are missed vsyncs, not the panel rate
     private volatile boolean isRunning = false;
+    private volatile Looper looper = null; // Set while the vsync loop is running
+    private boolean eventLogDumped = false; // The events before the first error were logged
     
     private final Game game;
-    private long lastFrameTime;
+    private final boolean useVsync;
+    private final FixedStepLoop loop; // Steps the engine, only touched by this thread
+
+    // --- Frame pacing, only touched by this thread ---
+    private long lastVsyncTime = -1;
+    private long lastRenderTime = 0;
+    private long vsyncPeriod = DEFAULT_VSYNC_PERIOD_NANOS; // Smoothed measured display refresh period
 
     public GameThread(final Game game) {
+        this(game, true);
+    }
+
+    /**
+     * @param useVsync Schedule frames from display vsync; false uses the sleep-based loop
+     */
+    public GameThread(final Game game, final boolean useVsync) {
         super("GameThread");
         this.game = game;
+        this.useVsync = useVsync;
+        this.loop = new FixedStepLoop(game.getEngine(), SystemClock::elapsedRealtimeNanos, new AndroidLogger());
     }
 
     public void startLoop() {
         isRunning = true;
-        lastFrameTime = SystemClock.elapsedRealtime();
         start();
     }
 
     public void stopLoop() {
         isRunning = false;
+
+        // Leave the vsync loop, if that is what is running
+        Looper currentLooper = looper;
+        if (currentLooper != null) {
+            currentLooper.quit();
+        }
         
         // Interrupt if sleeping
         interrupt();
@@ -34,47 +67,120 @@ public class GameThread extends Thread {
     @Override
     public void run() {
         super.run();
-        Log.d(LOG_TAG, "GameThread started");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "GameThread started");
+        }
         
         try {
-            while (isRunning) {
+            if (!useVsync || !runVsyncLoop()) {
+                runSleepLoop();
+            }
+        } catch (Exception e) {
+            reportError("Fatal error in game thread: ", e);
+        }
+        looper = null;
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "GameThread stopped");
+        }
+    }
+
+    /**
+     * Run frames from Choreographer callbacks until stopLoop() quits the looper
+     * @return false if vsync callbacks are unavailable on this thread
+     */
+    private boolean runVsyncLoop() {
+        try {
+            Looper.prepare();
+            looper = Looper.myLooper();
+            if (!isRunning) {
+                return true; // Stopped before the loop started
+            }
+            Choreographer.getInstance().postFrameCallback(this);
+        } catch (RuntimeException e) {
+            Log.w(LOG_TAG, "Vsync scheduling unavailable, falling back to sleep loop", e);
+            looper = null;
+            return false;
+        }
+        Looper.loop();
+        return true;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!isRunning) {
+            return;
+        }
+
+        // Track the display refresh period so pacing adapts to 60/90/120 Hz panels
+        if (lastVsyncTime >= 0) {
+            long period = frameTimeNanos - lastVsyncTime;
+            if (period > 0 && period < MAX_VSYNC_PERIOD_NANOS) {
+                vsyncPeriod = (vsyncPeriod * 7 + period) / 8;
+            }
+        }
+        lastVsyncTime = frameTimeNanos;
+
+        // Render on this vsync unless the next one is still close enough to the target frame interval
+        long frameInterval = game.getSleepTime() * 1_000_000L;
+        if (frameTimeNanos - lastRenderTime + vsyncPeriod / 2 >= frameInterval) {
+            lastRenderTime = frameTimeNanos;
+            try {
+                runFrame(frameTimeNanos);
+            } catch (Exception e) {
+                reportError("Error in game loop: ", e);
+            }
+        }
+
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void runSleepLoop() {
+        long nextFrameTime = SystemClock.elapsedRealtimeNanos();
+        while (isRunning) {
+            try {
+                runFrame(SystemClock.elapsedRealtimeNanos());
+                
+                // Pace frames against a fixed schedule instead of sleeping after each draw
+                long frameInterval = game.getSleepTime() * 1_000_000L;
+                nextFrameTime += frameInterval;
+                long sleepTime = nextFrameTime - SystemClock.elapsedRealtimeNanos();
+                if (sleepTime > 0) {
+                    sleep(sleepTime / 1_000_000L, (int) (sleepTime % 1_000_000L));
+                } else if (-sleepTime > frameInterval) {
+                    // Missed at least a whole frame: resynchronize instead of rushing late frames
+                    nextFrameTime = SystemClock.elapsedRealtimeNanos();
+                }
+            } catch (InterruptedException e) {
+                // Thread was interrupted, check if we should exit
+                if (!isRunning) break;
+            } catch (Exception e) {
+                reportError("Error in game loop: ", e);
+                // Sleep a bit to avoid rapid failure loops
                 try {
-                    // Get the current time
-                    long currentTime = SystemClock.elapsedRealtime();
-                    
-                    // Draw the game state
-                    game.draw();
-                    
-                    // Calculate how long it took to draw
-                    long drawTime = SystemClock.elapsedRealtime() - currentTime;
-                    
-                    // Calculate sleep time based on target frame rate
-                    long sleepTime = game.getSleepTime() - drawTime;
-                    if (sleepTime > 0) {
-                        sleep(sleepTime);
-                    }
-                    
-                    // Update game state
-                    game.update();
-                    
-                    // Update frame time
-                    lastFrameTime = currentTime;
-                } catch (InterruptedException e) {
-                    // Thread was interrupted, check if we should exit
+                    sleep(100);
+                } catch (InterruptedException ie) {
                     if (!isRunning) break;
-                } catch (Exception e) {
-                    Log.e(LOG_TAG, "Error in game loop: " + e.getMessage(), e);
-                    // Sleep a bit to avoid rapid failure loops
-                    try {
-                        sleep(100);
-                    } catch (InterruptedException ie) {
-                        if (!isRunning) break;
-                    }
                 }
             }
-        } catch (Exception e) {
-            Log.e(LOG_TAG, "Fatal error in game thread: " + e.getMessage(), e);
         }
-        Log.d(LOG_TAG, "GameThread stopped");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Advance the simulation up to currentTime in fixed steps, then draw
+     * @param currentTime Frame time in nanoseconds, on a monotonic time base
+     */
+    private void runFrame(long currentTime) {
+        // Update game state in fixed steps, then draw between the last step and the next one
+        game.setInterpolation(loop.advanceTo(currentTime));
+        game.draw();
+    }
+
+    // Log an error, and the game events that led to it the first time
+    private void reportError(String message, Exception e) {
+        Log.e(LOG_TAG, message + e.getMessage(), e);
+        if (!eventLogDumped) {
+            eventLogDumped = true;
+            game.dumpEventLog();
+        }
+    }
+}
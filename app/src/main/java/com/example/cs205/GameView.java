@@ -19,6 +19,7 @@ import android.view.View;
 
 import androidx.annotation.Nullable;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
@@ -31,7 +32,8 @@ import java.util.function.Consumer;
 public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     private final String LOG_TAG = GameView.class.getSimpleName();
-    private final Game game = new Game(this::sendNotification, this::useCanvas);
+    private static final String REPLAY_FILE_NAME = "replays/last-game.replay"; // Replay of the latest game, in the app's files dir
+    private Game game = new Game(this::sendNotification, this::useCanvas);
     private GameThread gameThread;
 
     public GameView(final Context context) {
@@ -62,15 +64,18 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     private void sendNotification() {
         // This would be used for game completion or other notifications
-        Log.d(LOG_TAG, "Game notification triggered");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Game notification triggered");
+        }
     }
 
-    private boolean useCanvas(final Consumer<Canvas> onDraw) {
+    private boolean useCanvas(final Rect dirty, final Consumer<Canvas> onDraw) {
         boolean result = false;
         Canvas canvas = null;
         try {
             final SurfaceHolder holder = getHolder();
-            canvas = holder.lockCanvas();
+            // Only lock the dirty area when one is given; the surface may enlarge it as needed
+            canvas = dirty != null ? holder.lockCanvas(dirty) : holder.lockCanvas();
             if (canvas != null) {
                 // Pass the canvas to onDraw (in this case draw method from Game class)
                 onDraw.accept(canvas);
@@ -85,24 +90,33 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     @Override
     public void surfaceCreated(final SurfaceHolder surfaceHolder) {
-        Log.d(LOG_TAG, "Surface created");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Surface created");
+        }
+        game.startRecording(new File(getContext().getFilesDir(), REPLAY_FILE_NAME));
         
         // Check if thread exists and its state
         if (gameThread == null) {
-            Log.d(LOG_TAG, "Creating new game thread");
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Creating new game thread");
+            }
             gameThread = new GameThread(game);
             final android.graphics.Rect rect = getHolder().getSurfaceFrame();
             game.resize(rect.width(), rect.height());
             gameThread.startLoop();
         } else if (gameThread.getState() == Thread.State.TERMINATED) {
-            Log.d(LOG_TAG, "Thread was terminated, creating new one");
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Thread was terminated, creating new one");
+            }
             gameThread = new GameThread(game);
             final android.graphics.Rect rect = getHolder().getSurfaceFrame();
             game.resize(rect.width(), rect.height());
             gameThread.startLoop();
         } else {
             // Thread exists and is not terminated, so it's either NEW or RUNNABLE
-            Log.d(LOG_TAG, "Thread already exists in state: " + gameThread.getState());
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Thread already exists in state: " + gameThread.getState());
+            }
             if (gameThread.getState() == Thread.State.NEW) {
                 // Thread created but not started yet
                 gameThread.startLoop();
@@ -116,37 +130,53 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     @Override
     public void surfaceChanged(final SurfaceHolder surfaceHolder, final int format, final int width, final int height) {
-        Log.d(LOG_TAG, "Surface changed: width=" + width + ", height=" + height);
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Surface changed: width=" + width + ", height=" + height);
+        }
         game.resize(width, height);
     }
 
     @Override
     public void surfaceDestroyed(final SurfaceHolder surfaceHolder) {
-        Log.d(LOG_TAG, "Surface destroyed");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Surface destroyed");
+        }
         gameThread.stopLoop();
         gameThread = null;
     }
 
     public void pause() {
-        Log.d(LOG_TAG, "Pausing game");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Pausing game");
+        }
         if (gameThread != null) {
             gameThread.stopLoop();
         }
     }
 
     public void resume() {
-        Log.d(LOG_TAG, "Resuming game");
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Resuming game");
+        }
         if (gameThread == null) {
-            Log.d(LOG_TAG, "No thread exists, creating through surfaceCreated");
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "No thread exists, creating through surfaceCreated");
+            }
             surfaceCreated(getHolder());
         } else if (gameThread.getState() == Thread.State.TERMINATED) {
-            Log.d(LOG_TAG, "Thread terminated, recreating through surfaceCreated");
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Thread terminated, recreating through surfaceCreated");
+            }
             surfaceCreated(getHolder());
         } else if (!gameThread.isAlive()) {
-            Log.d(LOG_TAG, "Thread exists but not alive, starting it");
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Thread exists but not alive, starting it");
+            }
             gameThread.startLoop();
         } else {
-            Log.d(LOG_TAG, "Thread already running in state: " + gameThread.getState());
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Thread already running in state: " + gameThread.getState());
+            }
         }
     }
 
@@ -156,41 +186,44 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         game.draw(); // Initial draw at the creation of SurfaceView
     }
 
-    // Handle touch events and pass them to the Game class
+    // Handle touch events and pass them to the Game class. Reads the event in place and never
+    // waits on the game thread, which drains the samples and coalesces them once per frame.
     private void handleTouchEvent(MotionEvent event) {
-        // Obtain a reusable event to avoid memory allocation for log messages
-        MotionEvent touchEvent = MotionEvent.obtain(event);
-        
-        try {
-            float touchX = touchEvent.getX();
-            float touchY = touchEvent.getY();
-            
-            // Process the event based on its action
-            switch (touchEvent.getAction()) {
-                case MotionEvent.ACTION_DOWN:
-                    game.click(touchEvent);
-                    ProcessBlock block = game.findBlockAtTouch(touchX, touchY);
-                    if (block != null) {
-                        game.startDragging(block, touchX, touchY);
-                        Log.d(LOG_TAG, "Started dragging block at " + touchX + "," + touchY);
-                    }
-                    break;
-                    
-                case MotionEvent.ACTION_MOVE:
-                    // Handle continuous dragging (most frequent event)
-                    game.updateDragging(touchX, touchY);
-                    break;
-                    
-                case MotionEvent.ACTION_UP:
-                case MotionEvent.ACTION_CANCEL:
-                    // Handle drag completion or cancellation
-                    game.stopDragging(touchX, touchY);
-                    Log.d(LOG_TAG, "Stopped dragging block at " + touchX + "," + touchY);
-                    break;
-            }
-        } finally {
-            // Always recycle the obtained event when done to avoid memory leaks
-            touchEvent.recycle();
+        float touchX = event.getX();
+        float touchY = event.getY();
+
+        // Process the event based on its action
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                // Deliver the moves of this gesture as they arrive rather than batched to the
+                // UI frame, so the game thread sees them up to a frame earlier
+                requestUnbufferedDispatch(event);
+                game.click(event);
+                // Picking up the block is done by the simulation thread at its next step
+                game.touchDown(event.getEventTimeNanos(), touchX, touchY);
+                if (BuildConfig.DEBUG) {
+                    Log.d(LOG_TAG, "Touch down at " + touchX + "," + touchY);
+                }
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                // Handle continuous dragging (most frequent event): hand over the samples
+                // batched into this event first, oldest first, then the current one
+                for (int i = 0, samples = event.getHistorySize(); i < samples; i++) {
+                    game.touchMove(event.getHistoricalEventTimeNanos(i),
+                            event.getHistoricalX(i), event.getHistoricalY(i));
+                }
+                game.touchMove(event.getEventTimeNanos(), touchX, touchY);
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                // Handle drag completion or cancellation
+                game.touchUp(touchX, touchY);
+                if (BuildConfig.DEBUG) {
+                    Log.d(LOG_TAG, "Touch up at " + touchX + "," + touchY);
+                }
+                break;
         }
     }
 
@@ -203,6 +236,20 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         game.resize(w, availableHeight);
     }
 
+    /**
+     * Replace the game with one using a different board size.
+     * Must be called before the surface is created.
+     * @param gridWidth Number of columns
+     * @param gridHeight Number of rows
+     */
+    public void setGridSize(int gridWidth, int gridHeight) {
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Using grid size " + gridWidth + "x" + gridHeight);
+        }
+        game.shutdown();
+        game = new Game(this::sendNotification, this::useCanvas, gridWidth, gridHeight);
+    }
+
     /**
      * Get the Game instance
      * @return The Game instance
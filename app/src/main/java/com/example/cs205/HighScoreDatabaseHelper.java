@@ -4,57 +4,177 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
+import com.example.cs205.engine.ScoreHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema and queries of the score database.
+ * Version 1 kept only each new high score. Version 2 keeps every game with its statistics,
+ * indexed by score and by date, plus a histogram of scores so percentiles do not scan the games.
+ * Rows kept from version 1 are high-score milestones rather than games: they stay in the
+ * table with played_at 0, so they count for the best score and the top games, but they are
+ * left out of the histogram and the rolling average, which describe games played.
+ */
 public class HighScoreDatabaseHelper extends SQLiteOpenHelper {
 
     private static final String DATABASE_NAME = "score.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 2;
+
+    // --- Games, one row each ---
     private static final String TABLE_NAME = "score";
     private static final String COLUMN_ID = "id";
-    private static final String COLUMN_VALUE = "value";
+    private static final String COLUMN_VALUE = "value"; // The score
+    private static final String COLUMN_CLEARED = "cleared";
+    private static final String COLUMN_STARVED = "starved";
+    private static final String COLUMN_OVERFLOWS = "overflows";
+    private static final String COLUMN_PLAYED_AT = "played_at"; // Wall-clock milliseconds, 0 for high scores from version 1
+
+    // --- Number of games per score ---
+    private static final String HISTOGRAM_TABLE_NAME = "score_histogram";
+    private static final String COLUMN_GAMES = "games";
 
     public HighScoreDatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this(context, DATABASE_NAME);
+    }
+
+    // Open a database under another name, e.g. so tests leave the player's scores alone
+    HighScoreDatabaseHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        // Readers are not blocked by the writer thread, and commits need fewer syncs
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
         String createTable = "CREATE TABLE " + TABLE_NAME + " (" +
                 COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                COLUMN_VALUE + " INTEGER)";
+                COLUMN_VALUE + " INTEGER, " +
+                COLUMN_CLEARED + " INTEGER NOT NULL DEFAULT 0, " +
+                COLUMN_STARVED + " INTEGER NOT NULL DEFAULT 0, " +
+                COLUMN_OVERFLOWS + " INTEGER NOT NULL DEFAULT 0, " +
+                COLUMN_PLAYED_AT + " INTEGER NOT NULL DEFAULT 0)";
         db.execSQL(createTable);
+        createVersion2Tables(db);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_NAME);
-        onCreate(db);
+        // Each step migrates one version up and keeps the stored scores; runs in a transaction
+        if (oldVersion < 2) {
+            // Version 1 rows are high scores, not games: they keep played_at 0 and stay out of the histogram
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COLUMN_CLEARED + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COLUMN_STARVED + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COLUMN_OVERFLOWS + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + COLUMN_PLAYED_AT + " INTEGER NOT NULL DEFAULT 0");
+            createVersion2Tables(db);
+        }
+    }
+
+    private void createVersion2Tables(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX " + TABLE_NAME + "_" + COLUMN_VALUE + " ON " + TABLE_NAME + " (" + COLUMN_VALUE + ")");
+        db.execSQL("CREATE INDEX " + TABLE_NAME + "_" + COLUMN_PLAYED_AT + " ON " + TABLE_NAME + " (" + COLUMN_PLAYED_AT + ")");
+        db.execSQL("CREATE TABLE " + HISTOGRAM_TABLE_NAME + " (" +
+                COLUMN_VALUE + " INTEGER PRIMARY KEY, " +
+                COLUMN_GAMES + " INTEGER NOT NULL)");
+    }
+
+    // --- Writes ---
+
+    /**
+     * Compile the insert of a game; bind score, cleared, starved, overflows and time as parameters 1 to 5
+     */
+    public SQLiteStatement compileInsertGame(SQLiteDatabase db) {
+        return db.compileStatement("INSERT INTO " + TABLE_NAME + " (" + COLUMN_VALUE + ", " + COLUMN_CLEARED + ", " +
+                COLUMN_STARVED + ", " + COLUMN_OVERFLOWS + ", " + COLUMN_PLAYED_AT + ") VALUES (?, ?, ?, ?, ?)");
+    }
+
+    /**
+     * Compile the histogram update for one game; bind the score as parameter 1
+     */
+    public SQLiteStatement compileCountScore(SQLiteDatabase db) {
+        return db.compileStatement("INSERT INTO " + HISTOGRAM_TABLE_NAME + " (" + COLUMN_VALUE + ", " + COLUMN_GAMES + ") " +
+                "VALUES (?, 1) ON CONFLICT(" + COLUMN_VALUE + ") DO UPDATE SET " + COLUMN_GAMES + " = " + COLUMN_GAMES + " + 1");
+    }
+
+    // --- Queries ---
+
+    /**
+     * Compile the query for the highest score, never below 0 as before every game was stored.
+     * Reads one end of the score index.
+     */
+    public SQLiteStatement compileSelectBestScore(SQLiteDatabase db) {
+        return db.compileStatement("SELECT MAX(IFNULL(MAX(" + COLUMN_VALUE + "), 0), 0) FROM " + TABLE_NAME);
     }
 
-    public void saveHighestScore(SQLiteDatabase db, int counter) {
-        Cursor cursor = db.rawQuery("SELECT MAX(" + COLUMN_VALUE + ") FROM " + TABLE_NAME, null);
-        int highest = 0;
-        if (cursor.moveToFirst()) {
-            highest = cursor.getInt(0);
+    /**
+     * Compile the query for the number of games. Sums the histogram, so the games are not scanned.
+     */
+    public SQLiteStatement compileSelectGameCount(SQLiteDatabase db) {
+        return db.compileStatement("SELECT IFNULL(SUM(" + COLUMN_GAMES + "), 0) FROM " + HISTOGRAM_TABLE_NAME);
+    }
+
+    /**
+     * Get the best games, highest score first. Walks the score index, so the cost grows with limit only.
+     * High scores from version 1 are included, with no statistics and played at 0.
+     */
+    public List<GameResult> getTopGames(SQLiteDatabase db, int limit) {
+        List<GameResult> games = new ArrayList<>(limit);
+        Cursor cursor = db.rawQuery("SELECT " + COLUMN_VALUE + ", " + COLUMN_CLEARED + ", " + COLUMN_STARVED + ", " +
+                COLUMN_OVERFLOWS + ", " + COLUMN_PLAYED_AT + " FROM " + TABLE_NAME +
+                " WHERE " + COLUMN_VALUE + " IS NOT NULL ORDER BY " + COLUMN_VALUE + " DESC LIMIT " + limit, null);
+        try {
+            while (cursor.moveToNext()) {
+                games.add(new GameResult(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2),
+                        cursor.getInt(3), cursor.getLong(4)));
+            }
+        } finally {
+            cursor.close();
         }
-        cursor.close();
+        return games;
+    }
 
-        if (counter > highest) {
-            db.execSQL("INSERT INTO " + TABLE_NAME + " (" + COLUMN_VALUE + ") VALUES (" + counter + ")");
+    /**
+     * Get the number of games per score, lowest score first. One row per distinct score,
+     * however many games are stored.
+     */
+    public ScoreHistogram getScoreHistogram(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT " + COLUMN_VALUE + ", " + COLUMN_GAMES + " FROM " + HISTOGRAM_TABLE_NAME +
+                " ORDER BY " + COLUMN_VALUE, null);
+        try {
+            int[] scores = new int[cursor.getCount()];
+            long[] games = new long[scores.length];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                scores[i] = cursor.getInt(0);
+                games[i] = cursor.getLong(1);
+            }
+            return new ScoreHistogram(scores, games);
+        } finally {
+            cursor.close();
         }
     }
 
-    public int getHighestScore(SQLiteDatabase db) {
-        Cursor cursor = db.rawQuery("SELECT MAX(" + COLUMN_VALUE + ") FROM " + TABLE_NAME, null);
-        int highest = 0;
-        if (cursor.moveToFirst()) {
-            highest = cursor.getInt(0);
+    /**
+     * Get the average score of the latest games, leaving out high scores from version 1.
+     * Walks the date index, so the cost grows with games only.
+     * @return The average, or 0 when no game is stored
+     */
+    public double getRollingAverage(SQLiteDatabase db, int games) {
+        Cursor cursor = db.rawQuery("SELECT IFNULL(AVG(" + COLUMN_VALUE + "), 0) FROM (SELECT " + COLUMN_VALUE +
+                " FROM " + TABLE_NAME + " WHERE " + COLUMN_PLAYED_AT + " > 0" +
+                " ORDER BY " + COLUMN_PLAYED_AT + " DESC LIMIT " + games + ")", null);
+        try {
+            return cursor.moveToFirst() ? cursor.getDouble(0) : 0;
+        } finally {
+            cursor.close();
         }
-        cursor.close();
-        return highest;
     }
 
     public void clearScores(SQLiteDatabase db) {
         db.execSQL("DELETE FROM " + TABLE_NAME);
+        db.execSQL("DELETE FROM " + HISTOGRAM_TABLE_NAME);
     }
-}
\ No newline at end of file
+}
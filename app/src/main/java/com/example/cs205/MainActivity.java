@@ -10,12 +10,13 @@ import android.view.animation.AnimationUtils;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.TextView;
-import android.database.sqlite.SQLiteDatabase;
 import android.content.pm.PackageManager;
 import android.Manifest;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.util.Locale;
+
 /**
  * MainActivity shows the main menu screen and displays the high score.
  * Handles animation, SQLite logic, and navigation to the game and help dialog.
@@ -41,18 +42,18 @@ public class MainActivity extends AppCompatActivity {
             }
         }
 
-        // Show high score from local SQLite database
-        HighScoreDatabaseHelper dbHelper = new HighScoreDatabaseHelper(this);
-
-        // clear db for testing, comment out when not needed
-        // run the app once w this code, then stop the app and comment out this code then run again
-//        SQLiteDatabase dbTest = dbHelper.getWritableDatabase();
-//        dbHelper.clearScores(dbTest);
-
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        int highScore = dbHelper.getHighestScore(db);
+        // Show high score from local SQLite database, prefetched at process start so the
+        // first frame does not wait for it; arrives later if the prefetch is still running.
+        // To clear the scores for testing, run HighScoreDatabaseHelper.clearScores once
         TextView highScoreTextView = findViewById(R.id.highScoreTextView);
-        highScoreTextView.setText("High Score: " + highScore);
+        ScoreRepository.getInstance(this).getSummary(summary -> {
+            String text = "High Score: " + summary.bestScore;
+            if (summary.gamesPlayed > 0) {
+                text += String.format(Locale.ROOT, "\nLast %d games: %.1f avg",
+                        Math.min(summary.gamesPlayed, ScoreSummary.RECENT_GAMES), summary.recentAverage);
+            }
+            highScoreTextView.setText(text);
+        });
 
         // Start Game button
         Button startButton = findViewById(R.id.startButton);
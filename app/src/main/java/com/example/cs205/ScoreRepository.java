@@ -0,0 +1,202 @@
+package com.example.cs205;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.cs205.engine.ScoreHistogram;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide access to the score history. All database work runs on one background
+ * writer thread, so the UI thread never waits for disk I/O: games are queued and
+ * written behind in a single transaction per batch. The summary shown on the menu is
+ * prefetched when the process starts (see Cs205Application) and cached until the next write.
+ */
+public final class ScoreRepository {
+    private static final String LOG_TAG = "ScoreRepository";
+
+    /**
+     * Receives the result of a query on the main thread
+     */
+    public interface QueryCallback<T> {
+        void onResult(T result);
+    }
+
+    private static ScoreRepository instance;
+
+    private final HighScoreDatabaseHelper dbHelper;
+    private final Handler writer; // Runs on the writer thread, the only thread that touches the database
+    private final Handler mainHandler;
+
+    // --- Cache, readable from any thread ---
+    private volatile ScoreSummary summary; // Null until loaded
+    private final AtomicLong submissions = new AtomicLong(0); // Games submitted so far; a new one makes the summary stale
+
+    // --- Write-behind queue ---
+    private final ConcurrentLinkedQueue<GameResult> pendingGames = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    // --- Writer thread state ---
+    private SQLiteDatabase db;
+    private SQLiteStatement insertGame;
+    private SQLiteStatement countScore;
+    private SQLiteStatement selectBestScore;
+    private SQLiteStatement selectGameCount;
+    private long flushedGames = 0; // Submitted games written so far
+
+    public static synchronized ScoreRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new ScoreRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ScoreRepository(Context context) {
+        dbHelper = new HighScoreDatabaseHelper(context);
+        HandlerThread writerThread = new HandlerThread("ScoreWriter");
+        writerThread.start();
+        writer = new Handler(writerThread.getLooper());
+        mainHandler = new Handler(Looper.getMainLooper());
+
+        // Open the database and warm the cache before anyone asks
+        writer.post(this::loadSummary);
+    }
+
+    /**
+     * Get the summary if it is cached and includes every submitted game, without waiting
+     * @return The summary, or null while it is being loaded
+     */
+    public ScoreSummary getCachedSummary() {
+        ScoreSummary cached = summary;
+        return cached != null && cached.submissions == submissions.get() ? cached : null;
+    }
+
+    /**
+     * Deliver the summary, including every submitted game, on the main thread.
+     * Called back right away when it is cached and this is the main thread.
+     */
+    public void getSummary(QueryCallback<ScoreSummary> callback) {
+        ScoreSummary cached = getCachedSummary();
+        if (cached != null && Looper.myLooper() == Looper.getMainLooper()) {
+            callback.onResult(cached);
+            return;
+        }
+        // Queued behind the prefetch and any pending write on the writer thread
+        query(() -> {
+            ScoreSummary current = summary;
+            if (current == null || current.submissions != flushedGames) {
+                loadSummary();
+            }
+            return summary;
+        }, callback);
+    }
+
+    /**
+     * Record a finished game. Returns at once and makes the cached summary stale;
+     * the database is written on the writer thread.
+     */
+    public void submitGame(GameResult game) {
+        submissions.incrementAndGet();
+        pendingGames.add(game);
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.post(this::flushPendingGames);
+        }
+    }
+
+    // --- Queries, answered after every game submitted so far is written ---
+
+    /**
+     * Get the best games, highest score first
+     */
+    public void getTopGames(int limit, QueryCallback<List<GameResult>> callback) {
+        query(() -> dbHelper.getTopGames(db, limit), callback);
+    }
+
+    /**
+     * Get the number of games per score, e.g. for percentiles and the rank of a score
+     */
+    public void getScoreHistogram(QueryCallback<ScoreHistogram> callback) {
+        query(() -> dbHelper.getScoreHistogram(db), callback);
+    }
+
+    /**
+     * Get the average score of the latest games
+     */
+    public void getRollingAverage(int games, QueryCallback<Double> callback) {
+        query(() -> dbHelper.getRollingAverage(db, games), callback);
+    }
+
+    private <T> void query(Supplier<T> query, QueryCallback<T> callback) {
+        writer.post(() -> {
+            openDatabase();
+            T result = query.get();
+            mainHandler.post(() -> callback.onResult(result));
+        });
+    }
+
+    // --- Writer thread ---
+
+    private void openDatabase() {
+        if (db == null) {
+            db = dbHelper.getWritableDatabase();
+            insertGame = dbHelper.compileInsertGame(db);
+            countScore = dbHelper.compileCountScore(db);
+            selectBestScore = dbHelper.compileSelectBestScore(db);
+            selectGameCount = dbHelper.compileSelectGameCount(db);
+        }
+    }
+
+    // Read the summary of the games written so far; each query is served by an index or the histogram
+    private void loadSummary() {
+        openDatabase();
+        summary = new ScoreSummary((int) selectBestScore.simpleQueryForLong(), selectGameCount.simpleQueryForLong(),
+                dbHelper.getRollingAverage(db, ScoreSummary.RECENT_GAMES), flushedGames);
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Summary loaded, best score: " + summary.bestScore + ", games: " + summary.gamesPlayed);
+        }
+    }
+
+    // Write every game queued so far in one transaction
+    private void flushPendingGames() {
+        // Clear the flag first, so a game queued during the flush schedules another one
+        flushScheduled.set(false);
+        openDatabase();
+
+        int count = 0;
+        db.beginTransaction();
+        try {
+            GameResult game;
+            while ((game = pendingGames.poll()) != null) {
+                insertGame.bindLong(1, game.score);
+                insertGame.bindLong(2, game.processesCleared);
+                insertGame.bindLong(3, game.processesStarved);
+                insertGame.bindLong(4, game.overflows);
+                insertGame.bindLong(5, game.playedAtMillis);
+                insertGame.executeInsert();
+                countScore.bindLong(1, game.score);
+                countScore.executeInsert();
+                count++;
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        flushedGames += count;
+        if (BuildConfig.DEBUG) {
+            Log.d(LOG_TAG, "Flushed " + count + " games");
+        }
+
+        // Refresh the cache right away, so the next reader finds it ready
+        loadSummary();
+    }
+}
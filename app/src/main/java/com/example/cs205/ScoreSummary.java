@@ -0,0 +1,20 @@
+package com.example.cs205;
+
+/**
+ * Best score and recent history, as shown on the main menu
+ */
+public final class ScoreSummary {
+    public static final int RECENT_GAMES = 10; // Games in the recent average
+
+    public final int bestScore; // 0 when no game was played
+    public final long gamesPlayed;
+    public final double recentAverage; // Average score of the latest RECENT_GAMES games, 0 when none
+    final long submissions; // Games submitted when the summary was read, to tell when it is stale
+
+    ScoreSummary(int bestScore, long gamesPlayed, double recentAverage, long submissions) {
+        this.bestScore = bestScore;
+        this.gamesPlayed = gamesPlayed;
+        this.recentAverage = recentAverage;
+        this.submissions = submissions;
+    }
+}
@@ -1,56 +1,89 @@
 package com.example.cs205;
 
-import android.os.CountDownTimer;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 
+import com.example.cs205.engine.Clock;
+import com.example.cs205.engine.Countdown;
+
+/**
+ * Round timer that reports the time left on the main thread.
+ * Ticks are posted every interval, but the time left and the finish are both read from
+ * a Countdown on the injected Clock, so on a VirtualClock the round ends when the clock says so.
+ * Start and stop on the main thread.
+ */
 public class Timer {
     public interface TimerListener {
         void onTick(long millisUntilFinished);
         void onFinish();
     }
 
-    private CountDownTimer timer;
-    private final long durationMillis;
     private final long intervalMillis;
     private final TimerListener listener;
     private final Handler handler = new Handler(Looper.getMainLooper());
-    private long startTimeMillis;
+    private final Countdown countdown; // Time left, measured on the injected clock
+    private final Runnable tick = this::tick;
+    private boolean running = false;
 
     public Timer(long durationMillis, long intervalMillis, TimerListener listener) {
-        this.durationMillis = durationMillis;
+        this(durationMillis, intervalMillis, listener, SystemClock::elapsedRealtimeNanos);
+    }
+
+    public Timer(long durationMillis, long intervalMillis, TimerListener listener, Clock clock) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive, got " + intervalMillis);
+        }
         this.intervalMillis = intervalMillis;
         this.listener = listener;
+        this.countdown = new Countdown(clock, durationMillis);
     }
 
     public void start() {
-        stop(); // Cancel any existing timer
-        startTimeMillis = System.currentTimeMillis();
-
-        timer = new CountDownTimer(durationMillis, intervalMillis) {
-            @Override
-            public void onTick(long millisUntilFinished) {
-                long elapsedTime = System.currentTimeMillis() - startTimeMillis;
-                long remainingTime = durationMillis - elapsedTime;
-                final long adjustedRemainingTime = Math.max(remainingTime, 0); // Ensure no negative values
-                handler.post(() -> listener.onTick(adjustedRemainingTime));
-            }
-
-            @Override
-            public void onFinish() {
-                handler.post(() -> listener.onFinish());
-            }
-        }.start();
+        stop(); // Cancel any existing round
+        countdown.start();
+        running = true;
+        handler.post(tick);
     }
 
     public void stop() {
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
-        }
+        handler.removeCallbacks(tick);
+        countdown.stop();
+        running = false;
     }
 
     public boolean isRunning() {
-        return timer != null;
+        return running;
+    }
+
+    /**
+     * Get the time left in the round, as measured on the timer's clock; frozen once stopped
+     */
+    public long getRemainingMillis() {
+        return countdown.getRemainingMillis();
+    }
+
+    /**
+     * Report the time left, or the finish once the clock has run out; called on the main thread.
+     * The next tick is aimed at the next whole interval of time left, so a late tick does not
+     * push the ones after it back.
+     * @return Milliseconds until the next tick, or -1 if none is scheduled
+     */
+    long tick() {
+        if (!running) {
+            return -1;
+        }
+        if (countdown.isFinished()) {
+            stop();
+            listener.onFinish();
+            return -1;
+        }
+        long remainingTime = countdown.getRemainingMillis();
+        listener.onTick(remainingTime);
+        // Next interval boundary, which is the finish once less than an interval is left
+        long untilBoundary = remainingTime % intervalMillis;
+        long delay = untilBoundary == 0 ? intervalMillis : untilBoundary;
+        handler.postDelayed(tick, delay);
+        return delay;
     }
-}
\ No newline at end of file
+}
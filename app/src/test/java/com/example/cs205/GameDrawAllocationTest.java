@@ -0,0 +1,102 @@
+package com.example.cs205;
+
+import android.graphics.Canvas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that Game.draw() does not allocate once it has reached a steady state.
+ * Runs on the host JVM; the Android framework calls are no-ops (unitTests.isReturnDefaultValues).
+ */
+public class GameDrawAllocationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 1_000;
+    private static final int MEASURED_RUNS = 3;
+
+    private final Canvas canvas = new Canvas();
+    private Game game;
+
+    @Before
+    public void setUp() {
+        game = new Game(() -> { }, (dirty, onDraw) -> {
+            onDraw.accept(canvas);
+            return true;
+        });
+        game.resize(WIDTH, HEIGHT);
+    }
+
+    @After
+    public void tearDown() {
+        game.shutdown();
+    }
+
+    @Test
+    public void draw_idleBoard_doesNotAllocate() {
+        assertEquals(0, measureDrawAllocations());
+    }
+
+    @Test
+    public void draw_whileDraggingAndWithPlacedBlock_doesNotAllocate() {
+        // First queue slot of a 1080x1920 surface: x = 135, y = 20 + 6 * 180 + 20
+        game.touchDown(140, 1125);
+        game.update(); // Touch commands are applied by the next simulation step
+        assertTrue(game.isDragging());
+        game.touchMove(100, 100); // Over the grid, so the placement preview is drawn
+        assertEquals(0, measureDrawAllocations());
+
+        // Timed samples go through the drag prediction, which must not allocate either
+        game.touchMove(-8_000_000L, 96, 96);
+        game.touchMove(-4_000_000L, 98, 98);
+        game.touchMove(0L, 100, 100);
+        assertEquals(0, measureDrawAllocations());
+
+        game.touchUp(100, 100);
+        game.update();
+        assertFalse(game.isDragging());
+        assertTrue(hasOccupiedCell(game.getGridState()));
+        assertEquals(0, measureDrawAllocations());
+    }
+
+    private static boolean hasOccupiedCell(int[][] gridState) {
+        for (int[] row : gridState) {
+            for (int owner : row) {
+                if (owner != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long measureDrawAllocations() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up so status text caches are filled and the JIT has settled
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            game.draw();
+        }
+
+        // A recompilation can occasionally allocate on this thread mid-run, so take the best of
+        // a few runs; a real per-frame allocation shows up in every one of them
+        threadBean.getThreadAllocatedBytes(threadId);
+        long least = Long.MAX_VALUE;
+        for (int run = 0; run < MEASURED_RUNS && least > 0; run++) {
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                game.draw();
+            }
+            least = Math.min(least, threadBean.getThreadAllocatedBytes(threadId) - before);
+        }
+        return least;
+    }
+}
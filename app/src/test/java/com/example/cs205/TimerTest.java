@@ -0,0 +1,89 @@
+package com.example.cs205;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.cs205.engine.VirtualClock;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives the timer's ticks by hand on a VirtualClock; the main looper is not running.
+ */
+public class TimerTest {
+
+    private static class RecordingListener implements Timer.TimerListener {
+        final List<Long> ticks = new ArrayList<>();
+        int finishes = 0;
+
+        @Override
+        public void onTick(long millisUntilFinished) {
+            ticks.add(millisUntilFinished);
+        }
+
+        @Override
+        public void onFinish() {
+            finishes++;
+        }
+    }
+
+    @Test
+    public void virtualClock_decidesTicksAndFinish() {
+        VirtualClock clock = new VirtualClock();
+        RecordingListener listener = new RecordingListener();
+        Timer timer = new Timer(120_000, 1000, listener, clock);
+
+        timer.start();
+        timer.tick();
+        clock.advanceMillis(119_000);
+        timer.tick();
+        timer.tick(); // The clock has not moved: still one second left
+        assertEquals(0, listener.finishes);
+        assertTrue(timer.isRunning());
+
+        clock.advanceMillis(1000);
+        timer.tick();
+        timer.tick(); // Already finished
+        assertEquals(List.of(120_000L, 1000L, 1000L), listener.ticks);
+        assertEquals(1, listener.finishes);
+        assertFalse(timer.isRunning());
+        assertEquals(0, timer.getRemainingMillis());
+    }
+
+    @Test
+    public void stop_keepsTimeLeft() {
+        VirtualClock clock = new VirtualClock();
+        Timer timer = new Timer(120_000, 1000, new RecordingListener(), clock);
+
+        timer.start();
+        clock.advanceMillis(30_000);
+        timer.stop();
+        clock.advanceMillis(30_000);
+        assertEquals(90_000, timer.getRemainingMillis());
+    }
+
+    @Test
+    public void lateTick_doesNotDelayTheNextOnes() {
+        VirtualClock clock = new VirtualClock();
+        RecordingListener listener = new RecordingListener();
+        Timer timer = new Timer(120_000, 1000, listener, clock);
+
+        timer.start();
+        assertEquals(1000, timer.tick());
+        clock.advanceMillis(1000 + 300); // The handler ran 300 ms late
+        assertEquals(700, timer.tick()); // Back on the whole second
+        clock.advanceMillis(700);
+        assertEquals(1000, timer.tick());
+        clock.advanceMillis(117_500);
+        assertEquals(500, timer.tick()); // Less than an interval left: wake up at the finish
+        clock.advanceMillis(500);
+        assertEquals(-1, timer.tick());
+
+        assertEquals(List.of(120_000L, 118_700L, 118_000L, 500L), listener.ticks);
+        assertEquals(1, listener.finishes);
+    }
+}
@@ -0,0 +1,29 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// JMH benchmarks for the engine's hot paths: ./gradlew :benchmark:jmh
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    jmh(project(":engine"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Fixed run shape and a machine-readable result file, so runs can be diffed against a baseline
+    fork.set(2)
+    warmupIterations.set(5)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+    // Allocation rate per operation alongside the timings
+    profilers.set(listOf("gc"))
+}
@@ -0,0 +1,85 @@
+package com.example.cs205.benchmark;
+
+import com.example.cs205.engine.BlockQueue;
+import com.example.cs205.engine.ProcessBlock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BlockQueue throughput, alone and with one producer racing several consumers,
+ * as the spawner and the input thread do in the game.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockQueueBenchmark {
+    private BlockQueue queue;
+    private ProcessBlock block;
+
+    @Setup
+    public void setUp() {
+        queue = new BlockQueue();
+        block = new ProcessBlock(new int[][]{{1, 1}, {1, 1}}, 0xFFFFFF00, 12_000, 0);
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    public ProcessBlock produceThenConsume() {
+        queue.produce(block);
+        return queue.consumeNonBlocking();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean produce() {
+        return queue.produce(block);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public ProcessBlock consume() {
+        return queue.consumeNonBlocking();
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public boolean produceWhileSnapshotting() {
+        if (queue.produce(block)) {
+            return true;
+        }
+        return queue.consumeNonBlocking() != null;
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public int getQueuedBlocks(SnapshotBuffer buffer) {
+        return queue.getQueuedBlocks(buffer.blocks);
+    }
+
+    /**
+     * Per-thread array the snapshot is copied into
+     */
+    @State(Scope.Thread)
+    public static class SnapshotBuffer {
+        ProcessBlock[] blocks;
+
+        @Setup
+        public void setUp(BlockQueueBenchmark benchmark) {
+            blocks = new ProcessBlock[benchmark.queue.getCapacity()];
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.cs205.benchmark;
+
+import com.example.cs205.engine.GameEngine;
+import com.example.cs205.engine.GridCell;
+import com.example.cs205.engine.Logger;
+import com.example.cs205.engine.ProcessBlock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid operations of the GameEngine on square boards at a given occupancy.
+ * The board is filled with 1x1 blocks but never holds a complete line, except row 0,
+ * which each line-clear benchmark fills and clears again, so every invocation
+ * starts from the same board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GridBenchmark {
+    private static final long SEED = 205;
+    private static final long BLOCK_TIME_LIMIT = 60_000;
+    private static final int[][] CELL = {{1}};
+    private static final int[][] L_SHAPE = {{1, 0}, {1, 0}, {1, 1}};
+
+    @Param({"6", "16", "64"})
+    public int gridSize;
+
+    @Param({"0.0", "0.5", "0.9"})
+    public double occupancy;
+
+    private GameEngine engine;
+    private ProcessBlock probe; // Block tested by canPlaceBlock
+    private int probeCell; // Position the next canPlaceBlock call tests
+    private ProcessBlock[] lineBlocks; // Blocks that fill row 0
+    private final List<GridCell> lineCells = new ArrayList<>(); // Cells of row 0
+    private ProcessBlock spareBlock; // Placed and removed again by placeBlockOnGrid
+    private int spareX, spareY; // Free cell the spare block goes to
+    private final List<GridCell> spareCells = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        engine = new GameEngine(gridSize, gridSize, SEED, Logger.NONE);
+        Random random = new Random(SEED);
+
+        // Rows 1 and below, leaving one free cell in every row and column so no line completes
+        spareX = -1;
+        for (int y = 1; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean keepFree = y == 1 + x % (gridSize - 1);
+                if (!keepFree && random.nextDouble() < occupancy) {
+                    engine.placeBlockOnGrid(newCell(), x, y);
+                } else if (keepFree && spareX < 0) {
+                    spareX = x;
+                    spareY = y;
+                }
+            }
+        }
+
+        probe = new ProcessBlock(L_SHAPE, 0xFFFFA500, BLOCK_TIME_LIMIT, 0);
+        lineBlocks = new ProcessBlock[gridSize];
+        for (int x = 0; x < gridSize; x++) {
+            lineBlocks[x] = newCell();
+            lineCells.add(new GridCell(x, 0));
+        }
+        spareBlock = newCell();
+        spareCells.add(new GridCell(spareX, spareY));
+    }
+
+    private static ProcessBlock newCell() {
+        return new ProcessBlock(CELL, 0xFF00FFFF, BLOCK_TIME_LIMIT, 0);
+    }
+
+    @Benchmark
+    public boolean canPlaceBlock() {
+        int cell = probeCell;
+        probeCell = cell + 1 == gridSize * gridSize ? 0 : cell + 1;
+        return engine.canPlaceBlock(probe, cell % gridSize, cell / gridSize);
+    }
+
+    @Benchmark
+    public boolean placeBlockOnGrid() {
+        // Includes taking the block off again, so the board does not fill up
+        boolean placed = engine.placeBlockOnGrid(spareBlock, spareX, spareY);
+        engine.clearCells(spareCells);
+        return placed;
+    }
+
+    @Benchmark
+    public void checkAndClearLines() {
+        fillLine();
+        engine.checkAndClearLines();
+    }
+
+    @Benchmark
+    public void checkAndClearLinesNoneFull() {
+        engine.checkAndClearLines();
+    }
+
+    @Benchmark
+    public void clearCells() {
+        fillLine();
+        engine.clearCells(lineCells);
+    }
+
+    @Benchmark
+    public int[][] getGridState() {
+        return engine.getGridState();
+    }
+
+    // Fill row 0 so it is complete
+    private void fillLine() {
+        for (int x = 0; x < gridSize; x++) {
+            engine.placeBlockOnGrid(lineBlocks[x], x, 0);
+        }
+    }
+}
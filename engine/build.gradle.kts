@@ -0,0 +1,13 @@
+plugins {
+    `java-library`
+}
+
+// Pure Java simulation core: no Android dependencies, so it runs and tests on any JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
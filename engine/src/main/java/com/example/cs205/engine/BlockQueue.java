@@ -0,0 +1,167 @@
+package com.example.cs205.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Producer-Consumer queue for ProcessBlocks with fixed capacity.
+ * Lock-free bounded ring buffer for a single producer (the spawner) and multiple consumers.
+ * Size reads are wait-free and snapshots copy into a caller-supplied array,
+ * so the render thread never contends with the spawner.
+ */
+public class BlockQueue {
+    private static final String LOG_TAG = "BlockQueue";
+    public static final int DEFAULT_CAPACITY = 6;
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 4;
+
+    private final int capacity;
+    private final AtomicReferenceArray<ProcessBlock> slots;
+    private final AtomicLong head = new AtomicLong(0); // Sequence of the next block to consume
+    private volatile long tail = 0; // Sequence of the next free slot, only written by the producer
+    private final AtomicInteger overflowCount = new AtomicInteger(0); // Counter for blocks that couldn't be added
+    private final Logger logger;
+    private final boolean debugLogging; // logger.isDebugEnabled(), checked on every produce and consume
+
+    public BlockQueue() {
+        this(DEFAULT_CAPACITY, Logger.NONE);
+    }
+
+    public BlockQueue(int capacity, Logger logger) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.logger = logger;
+        this.debugLogging = logger.isDebugEnabled();
+    }
+
+    /**
+     * Add a block to the queue (producer).
+     * Must only be called from one thread at a time.
+     * @param block The block to add
+     * @return true if block was added, false if queue is full
+     */
+    public boolean produce(ProcessBlock block) {
+        long currentTail = tail;
+
+        // Check if there's space (non-blocking)
+        if (currentTail - head.get() >= capacity) {
+            int overflows = overflowCount.incrementAndGet(); // Increment overflow counter
+            if (debugLogging) {
+                logger.d(LOG_TAG, "Queue full, cannot produce more blocks, overflow count: " + overflows);
+            }
+            return false;
+        }
+
+        // Fill the slot, then publish it to consumers with the volatile tail write
+        slots.set(slotIndex(currentTail), block);
+        tail = currentTail + 1;
+        if (debugLogging) {
+            logger.d(LOG_TAG, "Produced block ID: " + block.id + ", Queue size: " + getSize());
+        }
+        return true;
+    }
+
+    /**
+     * Take a block from the queue (consumer)
+     * Non-blocking version - returns null if queue is empty
+     */
+    public ProcessBlock consumeNonBlocking() {
+        while (true) {
+            long currentHead = head.get();
+            if (currentHead >= tail) {
+                return null; // No blocks available
+            }
+
+            // The slot cannot be reused by the producer until head moves past it,
+            // so the block read here is valid if the CAS below succeeds
+            int index = slotIndex(currentHead);
+            ProcessBlock block = slots.get(index);
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                // Drop the reference unless the producer already refilled the slot
+                slots.compareAndSet(index, block, null);
+                if (debugLogging) {
+                    logger.d(LOG_TAG, "Consumed block ID: " + (block != null ? block.id : "null") +
+                          ", Queue size: " + getSize());
+                }
+                return block;
+            }
+            // Another consumer took this block, try the next one
+        }
+    }
+
+    /**
+     * Get size of queue without modifying it (for display purposes)
+     */
+    public int getSize() {
+        long currentHead = head.get();
+        long size = tail - currentHead;
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    /**
+     * Get the maximum number of blocks the queue can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Copy the blocks in the queue, oldest first, without removing them.
+     * Used for rendering and touch detection; never blocks the producer.
+     * @param out Destination array, should hold at least getCapacity() blocks
+     * @return Number of blocks copied into out
+     */
+    public int getQueuedBlocks(ProcessBlock[] out) {
+        int count = 0;
+        for (int attempt = 0; attempt < MAX_SNAPSHOT_ATTEMPTS; attempt++) {
+            long currentHead = head.get();
+            long currentTail = tail;
+            count = 0;
+            for (long seq = currentHead; seq < currentTail && count < out.length; seq++) {
+                ProcessBlock block = slots.get(slotIndex(seq));
+                if (block != null) {
+                    out[count++] = block;
+                }
+            }
+
+            // Consistent if no consumer moved past the blocks we copied in the meantime
+            if (head.get() == currentHead) {
+                break;
+            }
+        }
+
+        // Clear stale references left over from a previous, longer snapshot
+        for (int i = count; i < out.length && out[i] != null; i++) {
+            out[i] = null;
+        }
+        return count;
+    }
+
+    /**
+     * Check if the queue is currently full
+     */
+    public boolean isFull() {
+        return tail - head.get() >= capacity;
+    }
+
+    /**
+     * Get the number of blocks that couldn't be added due to queue being full
+     */
+    public int getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Reset the overflow counter
+     */
+    public void resetOverflowCount() {
+        overflowCount.set(0);
+    }
+
+    private int slotIndex(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
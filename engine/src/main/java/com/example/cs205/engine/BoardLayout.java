@@ -0,0 +1,115 @@
+package com.example.cs205.engine;
+
+/**
+ * Pixel layout of the board and the spawn queue for a surface size.
+ * Immutable, so the input, simulation and render threads can share one instance
+ * without copying; a resize publishes a new layout.
+ */
+public final class BoardLayout {
+    public static final int QUEUE_COLUMNS = 3; // Queue slots per row
+    public static final int QUEUE_ROW_SPACING = 20; // Vertical gap between queue rows
+    private static final int BLOCK_SPAWN_AREA_HEIGHT = 4; // Rows (at default board size) reserved for spawning new blocks
+    private static final int GRID_TOP_MARGIN = 20;
+
+    public final int width;
+    public final int height;
+    public final int gridWidth; // Number of columns
+    public final int gridHeight; // Number of rows
+    public final int cellSize; // Size of each grid cell in pixels
+    public final int queueUnitSize; // Layout unit for the spawn area, independent of the board size
+    public final int queueSlotSize; // Layout stride of a queue slot
+    public final int queueColSpacing; // Horizontal gap between queue slots
+    public final int gridOffsetX; // Left offset for centering grid
+    public final int gridOffsetY; // Top offset for grid
+    private final float[] gridLinePoints; // Endpoints of all grid lines
+
+    public BoardLayout(int width, int height, int gridWidth, int gridHeight) {
+        this.width = width;
+        this.height = height;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        if (width <= 0 || height <= 0) {
+            // No surface yet: nothing can be drawn or touched
+            cellSize = 0;
+            queueUnitSize = 0;
+            queueSlotSize = 0;
+            queueColSpacing = 0;
+            gridOffsetX = 0;
+            gridOffsetY = 0;
+            gridLinePoints = new float[0];
+            return;
+        }
+
+        // Lay out the screen as for the default board, so the spawn area keeps its size
+        queueUnitSize = Math.min(width / GameEngine.DEFAULT_GRID_WIDTH,
+                height / (GameEngine.DEFAULT_GRID_HEIGHT + BLOCK_SPAWN_AREA_HEIGHT));
+
+        // Subdivide the board area into cells for the configured grid size
+        int boardHeight = queueUnitSize * GameEngine.DEFAULT_GRID_HEIGHT;
+        cellSize = Math.max(1, Math.min(width / gridWidth, boardHeight / gridHeight));
+        gridOffsetX = (width - (gridWidth * cellSize)) / 2;
+        gridOffsetY = GRID_TOP_MARGIN;
+
+        // Queue slots are laid out in two rows, 3 in each row
+        queueSlotSize = Math.min(queueUnitSize, (width - 40) / QUEUE_COLUMNS);
+        queueColSpacing = (width - QUEUE_COLUMNS * queueSlotSize) / (QUEUE_COLUMNS + 1);
+
+        // Precompute grid line endpoints so the grid is drawn with a single drawLines call
+        float[] points = new float[(gridWidth + 1 + gridHeight + 1) * 4];
+        int i = 0;
+        for (int x = 0; x <= gridWidth; x++) {
+            points[i++] = gridOffsetX + x * cellSize;
+            points[i++] = gridOffsetY;
+            points[i++] = gridOffsetX + x * cellSize;
+            points[i++] = gridOffsetY + gridHeight * cellSize;
+        }
+        for (int y = 0; y <= gridHeight; y++) {
+            points[i++] = gridOffsetX;
+            points[i++] = gridOffsetY + y * cellSize;
+            points[i++] = gridOffsetX + gridWidth * cellSize;
+            points[i++] = gridOffsetY + y * cellSize;
+        }
+        gridLinePoints = points;
+    }
+
+    /**
+     * Get the endpoints of all grid lines as (x0, y0, x1, y1) quadruples. Do not modify.
+     */
+    public float[] getGridLinePoints() {
+        return gridLinePoints;
+    }
+
+    // Right edge of the grid in pixels
+    public int gridRight() {
+        return gridOffsetX + gridWidth * cellSize;
+    }
+
+    // Bottom edge of the grid in pixels
+    public int gridBottom() {
+        return gridOffsetY + gridHeight * cellSize;
+    }
+
+    // Left edge of a queue slot in pixels
+    public int queueSlotX(int slot) {
+        int col = slot % QUEUE_COLUMNS; // 0, 1, or 2 for columns
+        return queueColSpacing + col * (queueSlotSize + queueColSpacing);
+    }
+
+    // Top edge of a queue slot in pixels
+    public int queueSlotY(int slot) {
+        int row = slot / QUEUE_COLUMNS; // 0 for first row, 1 for second row
+        return gridBottom() + QUEUE_ROW_SPACING + row * (queueSlotSize * 2 + QUEUE_ROW_SPACING);
+    }
+
+    // Baseline of the first status line in pixels
+    public int statusBaseline() {
+        return gridBottom() + 2 * (queueUnitSize * 2 + QUEUE_ROW_SPACING) + 30;
+    }
+
+    public boolean isOverGrid(int pixelX, int pixelY) {
+        return pixelX >= gridOffsetX && 
+               pixelX < gridRight() &&
+               pixelY >= gridOffsetY && 
+               pixelY < gridBottom();
+    }
+}
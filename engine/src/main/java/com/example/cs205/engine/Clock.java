@@ -0,0 +1,14 @@
+package com.example.cs205.engine;
+
+/**
+ * Source of monotonic time for driving the simulation loop.
+ * Injected so the engine can run against the device clock, the JVM clock or a test clock.
+ */
+public interface Clock {
+    /**
+     * Current time in nanoseconds on a monotonic time base
+     */
+    long nanoTime();
+
+    Clock SYSTEM = System::nanoTime;
+}
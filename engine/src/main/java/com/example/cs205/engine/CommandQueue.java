@@ -0,0 +1,90 @@
+package com.example.cs205.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded queue of input commands for the simulation thread.
+ * Any number of threads may offer commands; only the simulation thread drains them.
+ * Commands are stored as primitives in preallocated slots, so offering never allocates.
+ */
+class CommandQueue {
+    static final int TOUCH_DOWN = 1; // Pick up the block under (x, y), if any
+    static final int TOUCH_UP = 2; // Drop the dragged block at (x, y)
+
+    /**
+     * Receives drained commands on the simulation thread
+     */
+    interface Handler {
+        void onCommand(int type, float x, float y);
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences; // Per slot: index = free for that sequence, index + 1 = filled
+    private final int[] types;
+    private final float[] xs;
+    private final float[] ys;
+    private final AtomicLong tail = new AtomicLong(0); // Next sequence to claim, shared by producers
+    private long head = 0; // Next sequence to drain, consumer only
+
+    /**
+     * @param capacity Maximum number of pending commands, must be a power of two
+     */
+    CommandQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        types = new int[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+    }
+
+    /**
+     * Add a command (any thread)
+     * @return false if the queue is full and the command was dropped
+     */
+    boolean offer(int type, float x, float y) {
+        while (true) {
+            long sequence = tail.get();
+            int index = (int) (sequence & mask);
+            long difference = sequences.get(index) - sequence;
+            if (difference < 0) {
+                return false; // The consumer has not drained this slot yet
+            }
+            if (difference == 0 && tail.compareAndSet(sequence, sequence + 1)) {
+                types[index] = type;
+                xs[index] = x;
+                ys[index] = y;
+                sequences.set(index, sequence + 1); // Publish the slot to the consumer
+                return true;
+            }
+            // Another producer claimed this sequence, try the next one
+        }
+    }
+
+    /**
+     * Hand every published command to the handler, oldest first (consumer thread only)
+     * @return Number of commands drained
+     */
+    int drain(Handler handler) {
+        int count = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return count; // Empty, or the next producer has not finished writing
+            }
+            int type = types[index];
+            float x = xs[index];
+            float y = ys[index];
+            sequences.set(index, head + mask + 1); // Hand the slot back to producers
+            head++;
+            count++;
+            handler.onCommand(type, x, y);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.cs205.engine;
+
+/**
+ * Time left in a round of fixed length, measured on a Clock.
+ * With a VirtualClock a whole round can be simulated without waiting for it.
+ */
+public class Countdown {
+    private final Clock clock;
+    private final long durationMillis;
+    private volatile long startNanos; // Clock time the countdown started at
+    private volatile long stoppedRemainingMillis; // Time left when last stopped
+    private volatile boolean running = false;
+
+    public Countdown(Clock clock, long durationMillis) {
+        if (durationMillis < 0) {
+            throw new IllegalArgumentException("Duration must not be negative, got " + durationMillis);
+        }
+        this.clock = clock;
+        this.durationMillis = durationMillis;
+        this.stoppedRemainingMillis = durationMillis;
+    }
+
+    /**
+     * Start, or restart, the countdown from the full duration
+     */
+    public void start() {
+        startNanos = clock.nanoTime();
+        running = true;
+    }
+
+    /**
+     * Stop the countdown, keeping the time left at the moment it stopped
+     */
+    public void stop() {
+        if (running) {
+            stoppedRemainingMillis = getRemainingMillis();
+            running = false;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Get the time left, never negative; the full duration if not started,
+     * and the time left when stopped if stopped
+     */
+    public long getRemainingMillis() {
+        if (!running) {
+            return stoppedRemainingMillis;
+        }
+        long elapsedMillis = (clock.nanoTime() - startNanos) / 1_000_000L;
+        return Math.max(durationMillis - elapsedMillis, 0);
+    }
+
+    public boolean isFinished() {
+        return isRunning() && getRemainingMillis() == 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.cs205.engine;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of process completion deadlines, keyed by process id.
+ * Each id has at most one deadline; scheduling an id again moves its entry, and cancelling
+ * removes it, so timers can be paused and resumed in O(log n).
+ * Not thread-safe: only used from the simulation thread.
+ */
+class DeadlineHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] deadlines = new long[INITIAL_CAPACITY]; // Heap-ordered deadlines
+    private int[] ids = new int[INITIAL_CAPACITY]; // Process id of each heap entry
+    private int[] positions = new int[INITIAL_CAPACITY]; // Heap index + 1 by process id, 0 = not scheduled
+    private int size = 0;
+
+    /**
+     * Schedule (or reschedule) the deadline of a process
+     */
+    void schedule(int id, long deadline) {
+        ensurePositionCapacity(id + 1);
+        int index = positions[id] - 1;
+        if (index >= 0) {
+            long previous = deadlines[index];
+            deadlines[index] = deadline;
+            if (deadline < previous) {
+                siftUp(index);
+            } else {
+                siftDown(index);
+            }
+            return;
+        }
+
+        if (size == deadlines.length) {
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        deadlines[size] = deadline;
+        ids[size] = id;
+        positions[id] = size + 1;
+        siftUp(size++);
+    }
+
+    /**
+     * Remove the deadline of a process, e.g. when its timer is paused
+     * @return true if the process had a deadline scheduled
+     */
+    boolean cancel(int id) {
+        if (id < 0 || id >= positions.length || positions[id] == 0) {
+            return false;
+        }
+        removeAt(positions[id] - 1);
+        return true;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] != 0;
+    }
+
+    /**
+     * Get the earliest deadline, or Long.MAX_VALUE if nothing is scheduled
+     */
+    long peekDeadline() {
+        return size > 0 ? deadlines[0] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Remove and return the id with the earliest deadline if that deadline is at or before now
+     * @return The process id, or -1 if no deadline has been reached
+     */
+    int pollExpired(long now) {
+        if (size == 0 || deadlines[0] > now) {
+            return -1;
+        }
+        int id = ids[0];
+        removeAt(0);
+        return id;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void removeAt(int index) {
+        positions[ids[index]] = 0;
+        int last = --size;
+        if (index == last) {
+            return;
+        }
+
+        // Move the last entry into the hole and restore the heap order
+        move(last, index);
+        if (index > 0 && deadlines[index] < deadlines[(index - 1) / 2]) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        long deadline = deadlines[index];
+        int id = ids[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (deadlines[parent] <= deadline) break;
+            move(parent, index);
+            index = parent;
+        }
+        deadlines[index] = deadline;
+        ids[index] = id;
+        positions[id] = index + 1;
+    }
+
+    private void siftDown(int index) {
+        long deadline = deadlines[index];
+        int id = ids[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+            if (child + 1 < size && deadlines[child + 1] < deadlines[child]) {
+                child++;
+            }
+            if (deadlines[child] >= deadline) break;
+            move(child, index);
+            index = child;
+        }
+        deadlines[index] = deadline;
+        ids[index] = id;
+        positions[id] = index + 1;
+    }
+
+    private void move(int from, int to) {
+        deadlines[to] = deadlines[from];
+        ids[to] = ids[from];
+        positions[ids[to]] = to + 1;
+    }
+
+    private void ensurePositionCapacity(int capacity) {
+        if (capacity > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(capacity, positions.length * 2));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.cs205.engine;
+
+/**
+ * Keeps the latest game events for diagnostics, e.g. to log what led up to an error.
+ * Events are stored as primitives in preallocated arrays that wrap around, so recording
+ * never allocates; text is only built by dump().
+ * Not thread-safe: record and read on the simulation thread only.
+ */
+public final class EventLog implements GameEventListener {
+    // --- Event types ---
+    public static final int LAYOUT = 1;
+    public static final int TOUCH_DOWN = 2;
+    public static final int TOUCH_UP = 3;
+    public static final int PAUSE = 4;
+    public static final int RESUME = 5;
+    public static final int SPAWN = 6;
+    public static final int DRAG_START = 7;
+    public static final int DRAG_STOP = 8;
+    public static final int PLACE = 9;
+    public static final int CLEAR = 10;
+    public static final int SPAWN_SKIPPED = 11;
+
+    private final int mask; // Capacity - 1, the capacity is a power of two
+    private final long[] times;
+    private final byte[] types;
+    private final int[] firstArgs; // Block id, or x / width
+    private final int[] secondArgs; // Grid x, or y / height
+    private final int[] thirdArgs; // Grid y
+    private long recorded = 0; // Events recorded so far, including overwritten ones
+
+    /**
+     * @param capacity Number of events kept, rounded up to a power of two
+     */
+    public EventLog(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, got " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        times = new long[size];
+        types = new byte[size];
+        firstArgs = new int[size];
+        secondArgs = new int[size];
+        thirdArgs = new int[size];
+    }
+
+    /**
+     * Record an event, overwriting the oldest one when full
+     */
+    public void record(int type, long time, int first, int second, int third) {
+        int index = (int) (recorded & mask);
+        times[index] = time;
+        types[index] = (byte) type;
+        firstArgs[index] = first;
+        secondArgs[index] = second;
+        thirdArgs[index] = third;
+        recorded++;
+    }
+
+    // --- GameEventListener ---
+
+    @Override
+    public void onLayout(long time, int width, int height) {
+        record(LAYOUT, time, width, height, 0);
+    }
+
+    @Override
+    public void onTouchDown(long time, float x, float y) {
+        record(TOUCH_DOWN, time, Math.round(x), Math.round(y), 0);
+    }
+
+    @Override
+    public void onTouchUp(long time, float x, float y) {
+        record(TOUCH_UP, time, Math.round(x), Math.round(y), 0);
+    }
+
+    @Override
+    public void onPauseChanged(long time, boolean paused) {
+        record(paused ? PAUSE : RESUME, time, 0, 0, 0);
+    }
+
+    @Override
+    public void onSpawn(long time, int blockId) {
+        record(SPAWN, time, blockId, 0, 0);
+    }
+
+    @Override
+    public void onSpawnSkipped(long time) {
+        record(SPAWN_SKIPPED, time, 0, 0, 0);
+    }
+
+    @Override
+    public void onDragStart(long time, int blockId) {
+        record(DRAG_START, time, blockId, 0, 0);
+    }
+
+    @Override
+    public void onDragStop(long time, int blockId) {
+        record(DRAG_STOP, time, blockId, 0, 0);
+    }
+
+    @Override
+    public void onPlace(long time, int blockId, int gridX, int gridY) {
+        record(PLACE, time, blockId, gridX, gridY);
+    }
+
+    @Override
+    public void onClear(long time, int blockId) {
+        record(CLEAR, time, blockId, 0, 0);
+    }
+
+    // --- Reading ---
+
+    /**
+     * Number of events kept, at most the capacity
+     */
+    public int size() {
+        return (int) Math.min(recorded, mask + 1L);
+    }
+
+    /**
+     * Number of events recorded so far, including those overwritten since
+     */
+    public long getRecordedCount() {
+        return recorded;
+    }
+
+    // Array index of the i-th kept event, oldest first
+    private int index(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Event " + i + " of " + size());
+        }
+        return (int) ((recorded - size() + i) & mask);
+    }
+
+    public int getType(int i) {
+        return types[index(i)];
+    }
+
+    public long getTime(int i) {
+        return times[index(i)];
+    }
+
+    public int getFirstArg(int i) {
+        return firstArgs[index(i)];
+    }
+
+    public int getSecondArg(int i) {
+        return secondArgs[index(i)];
+    }
+
+    public int getThirdArg(int i) {
+        return thirdArgs[index(i)];
+    }
+
+    /**
+     * Write the kept events to a logger, oldest first, one line each
+     */
+    public void dump(Logger logger, String tag) {
+        logger.w(tag, "Last " + size() + " of " + recorded + " events:");
+        for (int i = 0; i < size(); i++) {
+            logger.w(tag, format(i));
+        }
+    }
+
+    /**
+     * Describe the i-th kept event, oldest first
+     */
+    public String format(int i) {
+        int index = index(i);
+        int first = firstArgs[index];
+        int second = secondArgs[index];
+        String event;
+        switch (types[index]) {
+            case LAYOUT: event = "layout " + first + "x" + second; break;
+            case TOUCH_DOWN: event = "touch down " + first + "," + second; break;
+            case TOUCH_UP: event = "touch up " + first + "," + second; break;
+            case PAUSE: event = "pause"; break;
+            case RESUME: event = "resume"; break;
+            case SPAWN: event = "spawn block " + first; break;
+            case DRAG_START: event = "drag block " + first; break;
+            case DRAG_STOP: event = "drop block " + first; break;
+            case PLACE: event = "place block " + first + " at " + second + "," + thirdArgs[index]; break;
+            case CLEAR: event = "clear block " + first; break;
+            case SPAWN_SKIPPED: event = "spawn skipped, queue full"; break;
+            default: event = "event " + types[index]; break;
+        }
+        return times[index] + " ms: " + event;
+    }
+}
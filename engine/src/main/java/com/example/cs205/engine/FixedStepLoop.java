@@ -0,0 +1,115 @@
+package com.example.cs205.engine;
+
+/**
+ * Drives a GameEngine in fixed steps of GameEngine.SIMULATION_STEP_MILLIS from a clock.
+ * Elapsed time is collected in an accumulator and consumed one step at a time, so the
+ * simulation does not depend on how often or how regularly it is advanced. The fraction
+ * of a step left over is returned so a renderer can interpolate between steps.
+ * Not thread-safe: call from the simulation thread only.
+ */
+public class FixedStepLoop {
+    private static final String LOG_TAG = "FixedStepLoop";
+    public static final long STEP_NANOS = GameEngine.SIMULATION_STEP_MILLIS * 1_000_000L;
+    private static final int MAX_STEPS_PER_FRAME = 5; // Catch-up cap, simulation time beyond this is dropped
+    private static final long MAX_FRAME_NANOS = 250_000_000L; // Longest frame delta accepted, e.g. after a stall
+
+    private final GameEngine engine;
+    private final Clock clock;
+    private final Logger logger;
+
+    private boolean started = false;
+    private long previousTime; // Clock time the loop has advanced to
+    private long accumulator = 0;
+    private long droppedSteps = 0; // Simulation steps skipped because the loop fell too far behind
+    private long warnAtDroppedSteps = 1; // Warn when droppedSteps reaches this, then again each time it doubles
+
+    public FixedStepLoop(GameEngine engine, Clock clock, Logger logger) {
+        this.engine = engine;
+        this.clock = clock;
+        this.logger = logger;
+    }
+
+    /**
+     * Start measuring from the current clock time, dropping any time not yet simulated.
+     * Without this the first advance only sets the starting point.
+     */
+    public void start() {
+        start(clock.nanoTime());
+    }
+
+    private void start(long currentTime) {
+        previousTime = currentTime;
+        accumulator = 0;
+        started = true;
+    }
+
+    /**
+     * Advance the simulation up to the current clock time
+     * @return Fraction (0 to 1) of a step elapsed since the last step
+     */
+    public float advance() {
+        return advanceTo(clock.nanoTime());
+    }
+
+    /**
+     * Advance the simulation up to currentTime in fixed steps
+     * @param currentTime Time in nanoseconds, on the same time base as the clock
+     * @return Fraction (0 to 1) of a step elapsed since the last step
+     */
+    public float advanceTo(long currentTime) {
+        // Get the time since the last frame, clamped so a long stall is not replayed
+        if (!started) {
+            start(currentTime);
+        }
+        accumulator += Math.min(currentTime - previousTime, MAX_FRAME_NANOS);
+        previousTime = currentTime;
+
+        // Update game state in fixed steps
+        int steps = 0;
+        while (accumulator >= STEP_NANOS && steps < MAX_STEPS_PER_FRAME) {
+            engine.update();
+            accumulator -= STEP_NANOS;
+            steps++;
+        }
+        if (accumulator >= STEP_NANOS) {
+            // Too far behind: drop the backlog rather than spiral trying to catch up
+            droppedSteps += accumulator / STEP_NANOS;
+            accumulator %= STEP_NANOS;
+            if (droppedSteps >= warnAtDroppedSteps) {
+                // Only a handful of warnings however long the device stays too slow
+                warnAtDroppedSteps = droppedSteps * 2;
+                logger.w(LOG_TAG, "Simulation fell behind, dropped steps: " + droppedSteps);
+            }
+        }
+        return (float) accumulator / STEP_NANOS;
+    }
+
+    /**
+     * Run every step up to the current clock time, without the catch-up cap.
+     * Meant for a VirtualClock advanced in large jumps, where no step may be dropped.
+     * @return Number of steps run
+     */
+    public long catchUp() {
+        long currentTime = clock.nanoTime();
+        if (!started) {
+            start(currentTime);
+        }
+        accumulator += currentTime - previousTime;
+        previousTime = currentTime;
+
+        long steps = 0;
+        while (accumulator >= STEP_NANOS) {
+            engine.update();
+            accumulator -= STEP_NANOS;
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Number of simulation steps skipped so far because the loop fell too far behind
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.cs205.engine;
+
+/**
+ * Everything the renderer needs for one frame, as primitive arrays. Filled by the
+ * simulation thread and handed to the render thread through a TripleBuffer (see
+ * GameEngine.acquireFrame); instances are reused, so publishing a frame does not
+ * allocate. Fields are read-only outside the engine. Shapes are shared with the
+ * blocks they came from, which is safe because shapes never change.
+ */
+public final class FrameSnapshot {
+    public final int gridWidth;
+    public final int gridHeight;
+    public long simulationTime; // Simulation time the snapshot was taken at
+
+    // --- Grid, indexed by y * gridWidth + x ---
+    public final long[] occupancy; // Occupancy bitmask per row, as in GridBitboard
+    public final int[] cellColors; // Color of the owning block, 0 = empty
+    public final float[] cellProgress; // Progress of the owning block at simulationTime
+    public final float[] cellProgressRate; // Progress gained per millisecond, 0 while the timer is paused
+
+    // --- Queue, oldest first ---
+    public int queueCount;
+    public final int[] queueIds;
+    public final long[][] queueShapes; // Compiled shapes, see GridBitboard.compileShape
+    public final int[] queueWidths;
+    public final int[] queueColors;
+    public final boolean[] queueDragged;
+
+    // --- Status counters ---
+    public int overflowCount;
+    public int clearedCount;
+
+    // --- Dragged block ---
+    public boolean dragging;
+    public long[] dragShape;
+    public int dragWidth;
+    public int dragColor;
+    public float dragProgress; // The timer does not advance while a block is off the grid
+    public int dragOffsetX; // Offset from the touch point to the block's top-left, in pixels
+    public int dragOffsetY;
+
+    FrameSnapshot(int gridWidth, int gridHeight, int queueCapacity) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        occupancy = new long[gridHeight];
+        cellColors = new int[gridWidth * gridHeight];
+        cellProgress = new float[gridWidth * gridHeight];
+        cellProgressRate = new float[gridWidth * gridHeight];
+        queueIds = new int[queueCapacity];
+        queueShapes = new long[queueCapacity][];
+        queueWidths = new int[queueCapacity];
+        queueColors = new int[queueCapacity];
+        queueDragged = new boolean[queueCapacity];
+    }
+
+    /**
+     * Progress (0 to 1) of the block in a cell at the given simulation time
+     */
+    public float progressAt(int cell, long now) {
+        return Math.min(1.0f, cellProgress[cell] + cellProgressRate[cell] * (now - simulationTime));
+    }
+
+    /**
+     * Check whether a compiled shape would fit at the given grid position in this snapshot
+     */
+    public boolean canPlace(long[] shape, int shapeWidth, int gridX, int gridY) {
+        return GridBitboard.fits(occupancy, gridWidth, shape, shapeWidth, gridX, gridY);
+    }
+}
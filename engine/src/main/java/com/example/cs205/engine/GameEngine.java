@@ -0,0 +1,851 @@
+package com.example.cs205.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The simulation core of the game: grid, process queue, timers and scoring.
+ * Pure Java, so it runs headless on any JVM. Only the thread calling update() changes
+ * the game state; input from other threads is queued and applied at the next step, and
+ * the state is handed to the renderer as FrameSnapshots.
+ */
+public class GameEngine {
+    // --- Constants ---
+    public static final int DEFAULT_GRID_WIDTH = 6; // Default number of columns
+    public static final int DEFAULT_GRID_HEIGHT = 6; // Default number of rows
+    public static final int MIN_GRID_SIZE = 4; // Smallest board that fits every block shape
+    public static final int MAX_GRID_SIZE = 64; // Largest board a row/column bitmask can hold
+    public static final long SIMULATION_STEP_MILLIS = 10; // Fixed simulation step advanced by update()
+    private static final int INPUT_QUEUE_CAPACITY = 64; // Touch commands waiting for the next simulation step
+    private static final int EVENT_LOG_CAPACITY = 256; // Latest events kept for diagnostics
+    private static final int TOUCH_SAMPLE_CAPACITY = 64; // Touch samples waiting for the next frame
+
+    private static final String LOG_TAG = "GameEngine";
+    private final Logger logger;
+    private final boolean debugLogging; // logger.isDebugEnabled(), so hot paths skip building messages
+    private final GameRules rules; // Spawn interval, queue size and timing of the blocks
+    private final long seed; // Decides the whole game, together with the input
+    private final SplittableRandom spawnRandom; // Shapes and colors of new blocks
+    private int nextBlockId = 0; // Block ids are per game, so games never share state
+
+    // --- Game State ---
+    private final int gridWidth; // Number of columns
+    private final int gridHeight; // Number of rows
+    private final GridBitboard grid; // Represents the CPU grid occupancy and owners
+    private final ProcessRegistry activeProcesses = new ProcessRegistry(); // Blocks picked up from the queue, indexed by id
+    private ProcessBlock currentDraggingBlock = null; // Block being dragged by the user
+    private int dragOffsetX, dragOffsetY; // Offset from touch point to block's top-left, in pixels
+    private final BlockQueue blockQueue; // Producer-consumer queue for blocks
+    private final ProcessBlock[] stepQueueSnapshot; // Queue contents, reused every step
+
+    // --- Input, written by the UI thread ---
+    private final CommandQueue commands = new CommandQueue(INPUT_QUEUE_CAPACITY); // Input waiting for the next step
+    private final CommandQueue.Handler commandHandler = this::applyCommand;
+    private volatile long touchPosition = 0; // Latest touch point, packed by packTouch
+    private final TouchPredictor touchPredictor = new TouchPredictor(TOUCH_SAMPLE_CAPACITY); // Touch samples for drawing the drag
+    private volatile BoardLayout layout; // Pixel layout used to hit test touches
+    private BoardLayout appliedLayout = null; // Layout the last applied command was hit tested with
+    private final EventLog eventLog = new EventLog(EVENT_LOG_CAPACITY); // Always receives the events
+    private GameEventListener events = eventLog;
+
+    // --- Frames handed to the renderer ---
+    private final TripleBuffer<FrameSnapshot> frames;
+    private boolean frameStale = false; // State changed since the last frame was published
+    private volatile boolean dragging = false; // A block was being dragged at the last step
+
+    // --- Timing ---
+    // Simulation time only advances in fixed steps through update(), so spawns and
+    // process timers do not depend on how often the engine is stepped
+    private volatile long simulationTimeMillis = 0;
+    private long lastSpawnTime = 0;
+    private final DeadlineHeap completionDeadlines = new DeadlineHeap(); // Simulation time at which each running block finishes
+    private long nextDeadline = Long.MAX_VALUE; // Earliest pending completion deadline
+    private boolean linesDirty = false; // A block was placed since lines were last checked
+    private volatile boolean pauseRequested = false; // Set by pause(), applied at the next step
+    private boolean gridOperationsPaused = false; // Completion and line clearing suspended
+
+    private final ProcessIdSet clearedProcesses = new ProcessIdSet(); // process ids cleared from the grid
+    private final ProcessIdSet starvedProcesses = new ProcessIdSet(); // process ids that were starved
+
+    public GameEngine(int gridWidth, int gridHeight) {
+        this(gridWidth, gridHeight, Logger.NONE);
+    }
+
+    /**
+     * Start a game with a random seed
+     */
+    public GameEngine(int gridWidth, int gridHeight, Logger logger) {
+        this(gridWidth, gridHeight, new SplittableRandom().nextLong(), logger);
+    }
+
+    /**
+     * @param seed Seed of the spawn sequence; the same seed and input give the same game
+     * @param logger Destination of the engine's log messages
+     */
+    public GameEngine(int gridWidth, int gridHeight, long seed, Logger logger) {
+        this(gridWidth, gridHeight, seed, GameRules.DEFAULT, logger);
+    }
+
+    /**
+     * @param rules Balance settings, e.g. for tuning them in batch simulations
+     */
+    public GameEngine(int gridWidth, int gridHeight, long seed, GameRules rules, Logger logger) {
+        if (gridWidth < MIN_GRID_SIZE || gridWidth > MAX_GRID_SIZE
+                || gridHeight < MIN_GRID_SIZE || gridHeight > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException("Grid size must be between " + MIN_GRID_SIZE
+                    + " and " + MAX_GRID_SIZE + ", got " + gridWidth + "x" + gridHeight);
+        }
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.rules = rules;
+        this.seed = seed;
+        this.spawnRandom = new SplittableRandom(seed);
+        this.logger = logger;
+        this.debugLogging = logger.isDebugEnabled();
+        this.grid = new GridBitboard(gridWidth, gridHeight);
+        this.blockQueue = new BlockQueue(rules.queueCapacity, logger);
+        this.stepQueueSnapshot = new ProcessBlock[blockQueue.getCapacity()];
+        this.frames = new TripleBuffer<>(
+                new FrameSnapshot(gridWidth, gridHeight, blockQueue.getCapacity()),
+                new FrameSnapshot(gridWidth, gridHeight, blockQueue.getCapacity()),
+                new FrameSnapshot(gridWidth, gridHeight, blockQueue.getCapacity()));
+        this.layout = new BoardLayout(0, 0, gridWidth, gridHeight);
+
+        // Initialize with empty grid and statistics already done in field init
+        lastSpawnTime = simulationTimeMillis;
+        produceNewBlock(); // Spawn the first block
+        publishFrame();
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getQueueCapacity() {
+        return blockQueue.getCapacity();
+    }
+
+    /**
+     * Use a new pixel layout for hit testing touches, e.g. after the surface was resized
+     */
+    public void setLayout(BoardLayout layout) {
+        if (layout.gridWidth != gridWidth || layout.gridHeight != gridHeight) {
+            throw new IllegalArgumentException("Layout is for a " + layout.gridWidth + "x"
+                    + layout.gridHeight + " grid, expected " + gridWidth + "x" + gridHeight);
+        }
+        this.layout = layout;
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Report the game's events to a listener, e.g. a ReplayRecorder.
+     * Set it before the simulation starts; it is called on the simulation thread.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.events = listener != null ? GameEventListener.both(eventLog, listener) : eventLog;
+    }
+
+    /**
+     * Get the latest events, e.g. to log them after an error. Simulation thread only.
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    // --- Simulation ---
+
+    /**
+     * Advance the simulation by one fixed step of SIMULATION_STEP_MILLIS.
+     * The calling thread is the only one that changes the game state; the result is
+     * published as a new frame if anything changed.
+     */
+    public void update() {
+        long currentTime = simulationTimeMillis + SIMULATION_STEP_MILLIS;
+        simulationTimeMillis = currentTime;
+
+        // Apply the input queued since the last step
+        if (pauseRequested != gridOperationsPaused) {
+            gridOperationsPaused = pauseRequested;
+            events.onPauseChanged(currentTime, gridOperationsPaused);
+        }
+        commands.drain(commandHandler);
+
+        if (!gridOperationsPaused) {
+            // Finish the blocks whose deadline has been reached
+            if (currentTime >= nextDeadline) {
+                removeFinishedBlocks(updatePlacedBlockTimers());
+            }
+
+            // A placement may have completed a line
+            if (linesDirty) {
+                linesDirty = false;
+                checkAndClearLines();
+            }
+        }
+
+        markStarvingBlocks(currentTime);
+
+        if (currentTime - lastSpawnTime > rules.spawnIntervalMillis) {
+            // Always try to produce a new block on timer
+            produceNewBlock();
+            lastSpawnTime = currentTime;
+        }
+
+        if (frameStale) {
+            publishFrame();
+        }
+    }
+
+    /**
+     * Get the current simulation time in milliseconds since the game started
+     */
+    public long getSimulationTime() {
+        return simulationTimeMillis;
+    }
+
+    /**
+     * Get the newest published frame (render thread; a single reader only)
+     */
+    public FrameSnapshot acquireFrame() {
+        return frames.acquire();
+    }
+
+    // Copy the current state into the back frame and hand it to the renderer
+    private void publishFrame() {
+        frameStale = false;
+        FrameSnapshot frame = frames.back();
+        long now = simulationTimeMillis;
+        frame.simulationTime = now;
+
+        // Grid cells, colored and filled by the block that owns them
+        grid.copyRowsInto(frame.occupancy);
+        for (int y = 0; y < gridHeight; y++) {
+            for (int x = 0; x < gridWidth; x++) {
+                int cell = y * gridWidth + x;
+                ProcessBlock owner = (frame.occupancy[y] & (1L << x)) != 0 ? findProcessById(grid.ownerAt(x, y)) : null;
+                if (owner == null) {
+                    frame.cellColors[cell] = 0;
+                    frame.cellProgress[cell] = 0f;
+                    frame.cellProgressRate[cell] = 0f;
+                } else {
+                    frame.cellColors[cell] = owner.color;
+                    frame.cellProgress[cell] = owner.getProgress(now);
+                    boolean running = owner.startTimeMillis != -1 && owner.timeLimitMillis > 0;
+                    frame.cellProgressRate[cell] = running ? 1.0f / owner.timeLimitMillis : 0f;
+                }
+            }
+        }
+
+        // Queue contents
+        int queuedCount = blockQueue.getQueuedBlocks(stepQueueSnapshot);
+        for (int i = 0; i < queuedCount; i++) {
+            ProcessBlock block = stepQueueSnapshot[i];
+            frame.queueIds[i] = block.id;
+            frame.queueShapes[i] = block.shapeMask;
+            frame.queueWidths[i] = block.getWidth();
+            frame.queueColors[i] = block.color;
+            frame.queueDragged[i] = block.isBeingDragged;
+        }
+        for (int i = queuedCount; i < frame.queueShapes.length; i++) {
+            frame.queueShapes[i] = null;
+        }
+        frame.queueCount = queuedCount;
+        frame.overflowCount = blockQueue.getOverflowCount();
+        frame.clearedCount = clearedProcesses.size();
+
+        // Dragged block
+        ProcessBlock dragged = currentDraggingBlock;
+        frame.dragging = dragged != null;
+        frame.dragShape = dragged != null ? dragged.shapeMask : null;
+        frame.dragWidth = dragged != null ? dragged.getWidth() : 0;
+        frame.dragColor = dragged != null ? dragged.color : 0;
+        frame.dragProgress = dragged != null ? dragged.getProgress(now) : 0f;
+        frame.dragOffsetX = dragOffsetX;
+        frame.dragOffsetY = dragOffsetY;
+
+        frames.publish();
+        dragging = dragged != null;
+    }
+
+    // Turn blocks that have waited in the queue for too long red and count them as starved
+    private void markStarvingBlocks(long now) {
+        int queuedCount = blockQueue.getQueuedBlocks(stepQueueSnapshot);
+        for (int i = 0; i < queuedCount; i++) {
+            ProcessBlock block = stepQueueSnapshot[i];
+            if (block.isStarving(now) && block.color != ProcessBlock.STARVING_COLOR) {
+                block.color = ProcessBlock.STARVING_COLOR; // Change color to red for starving blocks
+                frameStale = true;
+                // add this process to the list of starved processes
+                starvedProcesses.add(block.id);
+            }
+        }
+    }
+
+    private void produceNewBlock() {
+        boolean isFull = blockQueue.isFull();
+        if (isFull) {
+            // Queue is full, cannot produce new block
+            events.onSpawnSkipped(simulationTimeMillis);
+            if (debugLogging) {
+                logger.d(LOG_TAG, "Queue is full, cannot produce new block");
+            }
+            return;
+        }
+        ProcessBlock newBlock = ProcessBlock.createRandomProcess(nextBlockId++, spawnRandom, simulationTimeMillis, rules);
+
+        boolean added = blockQueue.produce(newBlock);
+        frameStale = true; // Either the queue or the overflow count changed
+        if (added) {
+            events.onSpawn(simulationTimeMillis, newBlock.id);
+            if (debugLogging) {
+                logger.d(LOG_TAG, "Produced new block: ID " + newBlock.id);
+            }
+        } else {
+            // Block wasn't added due to full queue
+            // Note: BlockQueue already increments the overflow counter internally
+            if (debugLogging) {
+                logger.d(LOG_TAG, "Failed to produce new block - queue full (overflow count: " +
+                      blockQueue.getOverflowCount() + ")");
+            }
+        }
+    }
+
+    // --- Grid ---
+
+    /**
+     * Check if a block can be placed at the target grid position
+     */
+    public boolean canPlaceBlock(ProcessBlock block, int gridX, int gridY) {
+        if (block == null) return false;
+
+        // Bounds and collision checks are a mask test per shape row
+        return grid.canPlace(block.shapeMask, block.getWidth(), gridX, gridY);
+    }
+
+    // Schedule the completion deadline of a block whose timer is running
+    private void scheduleCompletion(ProcessBlock block) {
+        long completionTime = block.getCompletionTime();
+        if (completionTime == Long.MAX_VALUE) {
+            completionDeadlines.cancel(block.id); // Timer paused
+            return;
+        }
+        completionDeadlines.schedule(block.id, completionTime);
+        nextDeadline = Math.min(nextDeadline, completionTime);
+    }
+
+    // Remove a block from the game entirely, dropping its pending deadline
+    private void unregisterProcess(ProcessBlock block) {
+        activeProcesses.remove(block);
+        completionDeadlines.cancel(block.id);
+    }
+
+    /**
+     * Place a block onto the grid and start its timer (simulation thread)
+     * @return false if the block does not fit there
+     */
+    public boolean placeBlockOnGrid(ProcessBlock block, int gridX, int gridY) {
+        if (block == null || !canPlaceBlock(block, gridX, gridY)) return false;
+
+        activeProcesses.add(block);
+        block.gridX = gridX;
+        block.gridY = gridY;
+        block.isPlaced = true;
+        block.startTimer(simulationTimeMillis);
+
+        // Update the grid data structure
+        grid.place(block.shapeMask, gridX, gridY, block.id);
+
+        // Remember when this block will finish
+        scheduleCompletion(block);
+        linesDirty = true; // The placement may have completed a line
+        frameStale = true;
+        events.onPlace(simulationTimeMillis, block.id, gridX, gridY);
+        return true;
+    }
+
+    private void removeFromGrid(ProcessBlock block) {
+        if (block == null || !block.isPlaced) return;
+
+        // Clear grid cells
+        grid.remove(block.shapeMask, block.gridX, block.gridY);
+        frameStale = true;
+
+        block.isPlaced = false;
+    }
+
+    /**
+     * Clear every completed row and column (simulation thread)
+     */
+    public void checkAndClearLines() {
+        // Check for filled rows, bottom up. Clearing a row removes whole blocks, which can empty
+        // cells of another full row, so each row is checked again right before it is cleared.
+        long fullRows = grid.fullRows(); // Clearing never fills a row, so only these can be full
+        while (fullRows != 0) {
+            int y = Long.SIZE - 1 - Long.numberOfLeadingZeros(fullRows);
+            fullRows &= ~(1L << y);
+            if (!grid.isRowFull(y)) {
+                continue;
+            }
+            for (int x = 0; x < gridWidth; x++) {
+                clearLineCell(x, y);
+            }
+        }
+
+        // Check for filled columns (after the rows above have been cleared), left to right
+        long fullColumns = grid.fullColumns();
+        while (fullColumns != 0) {
+            int x = Long.numberOfTrailingZeros(fullColumns);
+            fullColumns &= fullColumns - 1;
+            if (!grid.isColumnFull(x)) {
+                continue;
+            }
+            for (int y = 0; y < gridHeight; y++) {
+                clearLineCell(x, y);
+            }
+        }
+    }
+
+    // Clear one cell of a completed line, removing the block that occupies it
+    private void clearLineCell(int x, int y) {
+        int blockId = grid.ownerAt(x, y);
+        if (blockId < 0) {
+            return; // Already cleared together with an earlier cell of the same block
+        }
+        ProcessBlock block = findProcessById(blockId);
+        if (block != null) {
+            removeFromGrid(block);
+        }
+        grid.clearCell(x, y);
+        frameStale = true;
+        clearedProcesses.add(blockId);
+        events.onClear(simulationTimeMillis, blockId);
+    }
+
+    private ProcessBlock findProcessById(int id) {
+        return activeProcesses.get(id);
+    }
+
+    // --- Input ---
+    // Called on the UI thread with pixel coordinates in the current layout. Touch down and up
+    // are queued for the simulation thread; moves only update the touch point. The variants
+    // with a sample time also feed the drag prediction, see predictTouchPosition.
+
+    /**
+     * Start a drag at the touch point, applied at the next simulation step
+     */
+    public void touchDown(float touchX, float touchY) {
+        touchPosition = packTouch(touchX, touchY);
+        enqueueCommand(CommandQueue.TOUCH_DOWN, touchX, touchY);
+    }
+
+    /**
+     * Start a drag at a touch point sampled at timeNanos
+     */
+    public void touchDown(long timeNanos, float touchX, float touchY) {
+        touchPredictor.addSample(timeNanos, touchX, touchY, true);
+        touchDown(touchX, touchY);
+    }
+
+    /**
+     * Move the dragged block, if any, with the finger
+     */
+    public void touchMove(float touchX, float touchY) {
+        touchPosition = packTouch(touchX, touchY);
+    }
+
+    /**
+     * Move the dragged block, if any, to a touch point sampled at timeNanos.
+     * Call for every sample, historical ones included, oldest first; never blocks.
+     */
+    public void touchMove(long timeNanos, float touchX, float touchY) {
+        touchPredictor.addSample(timeNanos, touchX, touchY, false);
+        touchPosition = packTouch(touchX, touchY);
+    }
+
+    /**
+     * Drop the dragged block at the touch point, applied at the next simulation step
+     */
+    public void touchUp(float touchX, float touchY) {
+        touchPosition = packTouch(touchX, touchY);
+        enqueueCommand(CommandQueue.TOUCH_UP, touchX, touchY);
+    }
+
+    /**
+     * Get the latest touch point; decode it with touchX and touchY
+     */
+    public long getTouchPosition() {
+        return touchPosition;
+    }
+
+    /**
+     * Get where the touch point is expected to be horizonNanos from now, extrapolated from
+     * the samples given to touchDown and touchMove since the last call. Render thread only.
+     * @param nowNanos Current time, on the time base of the samples
+     */
+    public long predictTouchPosition(long nowNanos, long horizonNanos) {
+        return touchPredictor.predict(nowNanos, horizonNanos, touchPosition);
+    }
+
+    public static float touchX(long touchPosition) {
+        return Float.intBitsToFloat((int) (touchPosition >>> 32));
+    }
+
+    public static float touchY(long touchPosition) {
+        return Float.intBitsToFloat((int) touchPosition);
+    }
+
+    // Both coordinates in one long, so readers never see x and y from different events
+    static long packTouch(float x, float y) {
+        return ((long) Float.floatToRawIntBits(x) << 32) | (Float.floatToRawIntBits(y) & 0xFFFFFFFFL);
+    }
+
+    private void enqueueCommand(int type, float touchX, float touchY) {
+        if (!commands.offer(type, touchX, touchY)) {
+            logger.w(LOG_TAG, "Input queue full, dropping touch command " + type);
+        }
+    }
+
+    // Apply one queued input command (simulation thread)
+    private void applyCommand(int type, float touchX, float touchY) {
+        long now = simulationTimeMillis;
+        BoardLayout layout = this.layout;
+        if (layout != appliedLayout) {
+            appliedLayout = layout;
+            events.onLayout(now, layout.width, layout.height);
+        }
+        if (type == CommandQueue.TOUCH_DOWN) {
+            events.onTouchDown(now, touchX, touchY);
+        } else if (type == CommandQueue.TOUCH_UP) {
+            events.onTouchUp(now, touchX, touchY);
+        }
+
+        switch (type) {
+            case CommandQueue.TOUCH_DOWN:
+                if (currentDraggingBlock == null) {
+                    pickUpBlockAt(layout, touchX, touchY);
+                }
+                break;
+            case CommandQueue.TOUCH_UP:
+                stopDragging(layout, touchX, touchY);
+                break;
+        }
+    }
+
+    // Start dragging the queued or placed block under the touch point, if any
+    private void pickUpBlockAt(BoardLayout layout, float touchX, float touchY) {
+        // First check if touch is on a waiting block in the queue
+        int queuedCount = blockQueue.getQueuedBlocks(stepQueueSnapshot);
+        for (int i = 0; i < queuedCount && layout.queueSlotSize > 0; i++) {
+            ProcessBlock block = stepQueueSnapshot[i];
+            int slotX = layout.queueSlotX(i);
+            int slotY = layout.queueSlotY(i);
+            int blockWidth = block.getWidth() * layout.queueSlotSize;
+            int blockHeight = block.getHeight() * layout.queueSlotSize;
+
+            if (touchX >= slotX &&
+                touchX < slotX + blockWidth &&
+                touchY >= slotY &&
+                touchY < slotY + blockHeight) {
+                startDragging(block, touchX - slotX, touchY - slotY);
+                return;
+            }
+        }
+
+        // Then check if touch is on a placed block
+        if (layout.isOverGrid((int)touchX, (int)touchY)) {
+            int gridX = (int)((touchX - layout.gridOffsetX) / layout.cellSize);
+            int gridY = (int)((touchY - layout.gridOffsetY) / layout.cellSize);
+
+            if (gridX >= 0 && gridX < gridWidth && gridY >= 0 && gridY < gridHeight) {
+                int blockId = grid.ownerAt(gridX, gridY);
+                ProcessBlock block = blockId >= 0 ? findProcessById(blockId) : null;
+                if (block != null) {
+                    int pixelX = layout.gridOffsetX + block.gridX * layout.cellSize;
+                    int pixelY = layout.gridOffsetY + block.gridY * layout.cellSize;
+                    startDragging(block, touchX - pixelX, touchY - pixelY);
+                }
+            }
+        }
+    }
+
+    // offsetX/offsetY: touch point relative to the block's top-left corner, in pixels
+    private void startDragging(ProcessBlock block, float offsetX, float offsetY) {
+        if (debugLogging) {
+            logger.d(LOG_TAG, "Starting to drag block ID: " + block.id);
+        }
+        events.onDragStart(simulationTimeMillis, block.id);
+        block.isBeingDragged = true;
+        currentDraggingBlock = block;
+        dragOffsetX = (int) offsetX;
+        dragOffsetY = (int) offsetY;
+        frameStale = true;
+
+        if (!block.isPlaced) {
+            // Remove from queue when dragging starts (consumer action)
+            blockQueue.consumeNonBlocking();
+            activeProcesses.add(block);
+        } else {
+            // Remove from grid if it was placed
+            removeFromGrid(block);
+        }
+    }
+
+    private void stopDragging(BoardLayout layout, float touchX, float touchY) {
+        if (currentDraggingBlock != null) {
+            // Check if over grid
+            if (layout.isOverGrid((int)touchX, (int)touchY)) {
+                int gridX = (int)((touchX - dragOffsetX - layout.gridOffsetX) / layout.cellSize);
+                int gridY = (int)((touchY - dragOffsetY - layout.gridOffsetY) / layout.cellSize);
+
+                // Try to place the block
+                placeBlockOnGrid(currentDraggingBlock, gridX, gridY);
+            }
+
+            events.onDragStop(simulationTimeMillis, currentDraggingBlock.id);
+            currentDraggingBlock.isBeingDragged = false;  // Put this BEFORE nulling
+            currentDraggingBlock = null;
+            frameStale = true;
+        }
+    }
+
+    /**
+     * Check whether a block is being dragged, as of the last simulation step
+     */
+    public boolean isDragging() {
+        return dragging;
+    }
+
+    // --- Lifecycle ---
+
+    /**
+     * Suspend block completion and line clearing, from the next simulation step
+     */
+    public void pause() {
+        pauseRequested = true;
+    }
+
+    public void resume() {
+        pauseRequested = false;
+    }
+
+    /**
+     * End the game; the state is kept so the score can still be read
+     */
+    public void shutdown() {
+        pauseRequested = true;
+    }
+
+    /**
+     * Get a copy of the current grid owners (0 = empty, >0 = process ID + 1).
+     * Must be called on the simulation thread; other threads should use the published frames.
+     */
+    public int[][] getGridState() {
+        int[][] gridCopy = new int[gridHeight][gridWidth];
+        grid.copyOwnersInto(gridCopy);
+        return gridCopy;
+    }
+
+    /**
+     * Update timers for placed blocks and return a list of blocks that are finished
+     * Called by update() once the simulation reaches a completion deadline
+     */
+    public List<ProcessBlock> updatePlacedBlockTimers() {
+        List<ProcessBlock> finishedBlocks = new ArrayList<>();
+
+        long now = simulationTimeMillis;
+        // Only the blocks whose deadline has been reached need their timer updated
+        int id;
+        while ((id = completionDeadlines.pollExpired(now)) >= 0) {
+            ProcessBlock block = findProcessById(id);
+            if (block != null && block.isPlaced && !block.isFinished) {
+                block.updateTimer(now);
+                if (block.isFinished) {
+                    finishedBlocks.add(block);
+                    if (debugLogging) {
+                        logger.d(LOG_TAG, "Block " + block.id + " finished");
+                    }
+                }
+            }
+        }
+        nextDeadline = completionDeadlines.peekDeadline();
+
+        return finishedBlocks;
+    }
+
+    /**
+     * Remove blocks that have finished their execution time
+     * Called by update() on the simulation thread
+     */
+    public void removeFinishedBlocks(List<ProcessBlock> finishedBlocks) {
+        if (finishedBlocks.isEmpty()) return;
+
+        for (ProcessBlock block : finishedBlocks) {
+            removeFromGrid(block);
+            unregisterProcess(block);
+            if (debugLogging) {
+                logger.d(LOG_TAG, "Removed finished block ID: " + block.id);
+            }
+            clearedProcesses.add(block.id);
+            events.onClear(simulationTimeMillis, block.id);
+        }
+    }
+
+    /**
+     * Clear individual cells from the grid, which may partially remove blocks
+     * Must be called on the simulation thread
+     */
+    public void clearCells(List<GridCell> cellsToRemove) {
+        if (cellsToRemove.isEmpty()) return;
+
+        if (debugLogging) {
+            logger.d(LOG_TAG, "Clearing " + cellsToRemove.size() + " cells from filled lines");
+        }
+
+        // Map of blockId -> list of remaining cells
+        Map<Integer, List<GridCell>> remainingBlockCells = new HashMap<>();
+
+        // First, clear all cells marked for removal
+        for (GridCell cell : cellsToRemove) {
+            int x = cell.x;
+            int y = cell.y;
+
+            if (x >= 0 && x < gridWidth && y >= 0 && y < gridHeight) {
+                int blockId = grid.ownerAt(x, y);
+                if (blockId >= 0) {
+                    // Clear this cell
+                    grid.clearCell(x, y);
+                    frameStale = true;
+
+                    // Track block IDs affected by line clear
+                    if (!remainingBlockCells.containsKey(blockId)) {
+                        remainingBlockCells.put(blockId, new ArrayList<>());
+                    }
+                }
+            }
+        }
+
+        // Find all remaining cells for each affected block by scanning only its own footprint
+        for (Map.Entry<Integer, List<GridCell>> entry : remainingBlockCells.entrySet()) {
+            ProcessBlock block = findProcessById(entry.getKey());
+            if (block != null && block.isPlaced) {
+                collectOwnedCells(block, entry.getValue());
+            }
+        }
+
+        // Process each affected block
+        for (Map.Entry<Integer, List<GridCell>> entry : remainingBlockCells.entrySet()) {
+            int blockId = entry.getKey();
+            List<GridCell> remainingCells = entry.getValue();
+            ProcessBlock block = findProcessById(blockId);
+
+            if (block != null) {
+                if (remainingCells.isEmpty()) {
+                    // Block completely cleared
+                    removeFromGrid(block);
+                    unregisterProcess(block);
+                    events.onClear(simulationTimeMillis, blockId);
+                    if (debugLogging) {
+                        logger.d(LOG_TAG, "Block " + blockId + " completely cleared by line completion");
+                    }
+                } else {
+                    // Block partially cleared - update its shape
+                    updateBlockShapeForPartialClear(block, remainingCells);
+                }
+            }
+        }
+    }
+
+    // Add the cells inside the block's footprint that are still owned by it
+    private void collectOwnedCells(ProcessBlock block, List<GridCell> cells) {
+        for (int y = 0; y < block.getHeight(); y++) {
+            for (int x = 0; x < block.getWidth(); x++) {
+                int cellX = block.gridX + x;
+                int cellY = block.gridY + y;
+                if (block.shape[y][x] == 1
+                        && cellX >= 0 && cellX < gridWidth && cellY >= 0 && cellY < gridHeight
+                        && grid.ownerAt(cellX, cellY) == block.id) {
+                    cells.add(new GridCell(cellX, cellY));
+                }
+            }
+        }
+    }
+
+    /**
+     * Update a block's shape when some of its cells are cleared
+     */
+    private void updateBlockShapeForPartialClear(ProcessBlock block, List<GridCell> remainingCells) {
+        // This is a complex operation that would create a new shape for the block
+        // based on remaining cells. For simplicity, we'll just remove the block for now
+
+        // In a full implementation, we would:
+        // 1. Find the bounding box of remaining cells
+        // 2. Create a new shape array representing just those cells
+        // 3. Update the block's position and shape accordingly
+
+        if (debugLogging) {
+            logger.d(LOG_TAG, "Block " + block.id + " partially cleared - removing for simplicity");
+        }
+        removeFromGrid(block);
+        unregisterProcess(block);
+        events.onClear(simulationTimeMillis, block.id);
+    }
+
+    // --- Scoring ---
+
+    /**
+     * Reset the overflow counter for the block queue
+     */
+    public void resetOverflowCounter() {
+        blockQueue.resetOverflowCount();
+        frameStale = true;
+        if (debugLogging) {
+            logger.d(LOG_TAG, "Overflow counter reset");
+        }
+    }
+
+    /**
+     * Get the score: processes cleared minus processes starved
+     */
+    public int getScore() {
+        return clearedProcesses.size() - starvedProcesses.size();
+    }
+
+    /**
+     * Get the number of processes cleared from the grid
+     */
+    public int getProcessesCleared() {
+        return clearedProcesses.size();
+    }
+
+    /**
+     * Get the number of processes that starved
+     */
+    public int getProcessesStarved() {
+        return starvedProcesses.size();
+    }
+
+    /**
+     * Get the number of spawns lost because the queue was full
+     */
+    public int getOverflowCount() {
+        return blockQueue.getOverflowCount();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.cs205.engine;
+
+/**
+ * Receives what happens in a game, on the simulation thread, stamped with the simulation
+ * time of the step it happened in. Input events are everything that, together with the
+ * seed, decides a game; the others are its outcome.
+ */
+public interface GameEventListener {
+    // --- Input ---
+
+    /**
+     * The layout used to hit test the touches that follow
+     */
+    default void onLayout(long time, int width, int height) {
+    }
+
+    default void onTouchDown(long time, float x, float y) {
+    }
+
+    default void onTouchUp(long time, float x, float y) {
+    }
+
+    default void onPauseChanged(long time, boolean paused) {
+    }
+
+    // --- Outcome ---
+
+    default void onSpawn(long time, int blockId) {
+    }
+
+    /**
+     * A block was due but the queue was full, so none was created
+     */
+    default void onSpawnSkipped(long time) {
+    }
+
+    default void onDragStart(long time, int blockId) {
+    }
+
+    default void onDragStop(long time, int blockId) {
+    }
+
+    default void onPlace(long time, int blockId, int gridX, int gridY) {
+    }
+
+    /**
+     * A block left the grid because it finished or its line was cleared
+     */
+    default void onClear(long time, int blockId) {
+    }
+
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    /**
+     * Get a listener that passes every event to first, then to second
+     */
+    static GameEventListener both(GameEventListener first, GameEventListener second) {
+        return new GameEventListener() {
+            @Override
+            public void onLayout(long time, int width, int height) {
+                first.onLayout(time, width, height);
+                second.onLayout(time, width, height);
+            }
+
+            @Override
+            public void onTouchDown(long time, float x, float y) {
+                first.onTouchDown(time, x, y);
+                second.onTouchDown(time, x, y);
+            }
+
+            @Override
+            public void onTouchUp(long time, float x, float y) {
+                first.onTouchUp(time, x, y);
+                second.onTouchUp(time, x, y);
+            }
+
+            @Override
+            public void onPauseChanged(long time, boolean paused) {
+                first.onPauseChanged(time, paused);
+                second.onPauseChanged(time, paused);
+            }
+
+            @Override
+            public void onSpawn(long time, int blockId) {
+                first.onSpawn(time, blockId);
+                second.onSpawn(time, blockId);
+            }
+
+            @Override
+            public void onSpawnSkipped(long time) {
+                first.onSpawnSkipped(time);
+                second.onSpawnSkipped(time);
+            }
+
+            @Override
+            public void onDragStart(long time, int blockId) {
+                first.onDragStart(time, blockId);
+                second.onDragStart(time, blockId);
+            }
+
+            @Override
+            public void onDragStop(long time, int blockId) {
+                first.onDragStop(time, blockId);
+                second.onDragStop(time, blockId);
+            }
+
+            @Override
+            public void onPlace(long time, int blockId, int gridX, int gridY) {
+                first.onPlace(time, blockId, gridX, gridY);
+                second.onPlace(time, blockId, gridX, gridY);
+            }
+
+            @Override
+            public void onClear(long time, int blockId) {
+                first.onClear(time, blockId);
+                second.onClear(time, blockId);
+            }
+        };
+    }
+}
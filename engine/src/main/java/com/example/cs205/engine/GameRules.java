@@ -0,0 +1,31 @@
+package com.example.cs205.engine;
+
+/**
+ * The balance settings of a game. Immutable; DEFAULT is what the app plays with.
+ */
+public final class GameRules {
+    public static final GameRules DEFAULT = new GameRules(3000, 6, 10_000, 1.0);
+
+    public final long spawnIntervalMillis; // Time between two spawns
+    public final int queueCapacity; // Blocks that can wait to be placed
+    public final long maxWaitMillis; // Time a block can wait in the queue before it starves
+    public final double timeLimitScale; // Factor on the run time of every shape
+
+    public GameRules(long spawnIntervalMillis, int queueCapacity, long maxWaitMillis, double timeLimitScale) {
+        if (spawnIntervalMillis <= 0 || queueCapacity <= 0 || maxWaitMillis <= 0 || !(timeLimitScale > 0)) {
+            throw new IllegalArgumentException("Game rules must be positive, got spawn interval "
+                    + spawnIntervalMillis + " ms, queue capacity " + queueCapacity + ", max wait "
+                    + maxWaitMillis + " ms, time limit scale " + timeLimitScale);
+        }
+        this.spawnIntervalMillis = spawnIntervalMillis;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeLimitScale = timeLimitScale;
+    }
+
+    @Override
+    public String toString() {
+        return "spawn interval " + spawnIntervalMillis + " ms, queue capacity " + queueCapacity
+                + ", max wait " + maxWaitMillis + " ms, time limit scale " + timeLimitScale;
+    }
+}
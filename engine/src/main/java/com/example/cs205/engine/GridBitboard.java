@@ -0,0 +1,182 @@
+package com.example.cs205.engine;
+
+/**
+ * Occupancy engine for the CPU grid.
+ * Each row is stored as a long bitmask (bit x set = cell occupied) alongside a parallel
+ * owner map, so placement tests and full line detection are a handful of mask operations.
+ * Not thread-safe: only the simulation thread touches it; the renderer reads FrameSnapshots.
+ */
+class GridBitboard {
+    private static final int MAX_WIDTH = Long.SIZE;
+
+    private final int width;
+    private final int height;
+    private final long fullRowMask; // All bits of a row set
+    private final long[] rows; // Occupancy bitmask per row
+    private final int[] owners; // Parallel owner map: 0 = empty, >0 = process ID + 1
+
+    GridBitboard(int width, int height) {
+        if (width <= 0 || width > MAX_WIDTH || height <= 0) {
+            throw new IllegalArgumentException("Unsupported grid size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.fullRowMask = width == MAX_WIDTH ? -1L : (1L << width) - 1;
+        this.rows = new long[height];
+        this.owners = new int[width * height];
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Compile a 0/1 shape matrix into one bitmask per shape row (bit x set = cell filled)
+     */
+    static long[] compileShape(int[][] shape) {
+        long[] masks = new long[shape.length];
+        for (int y = 0; y < shape.length; y++) {
+            long mask = 0;
+            for (int x = 0; x < shape[y].length; x++) {
+                if (shape[y][x] == 1) {
+                    mask |= 1L << x;
+                }
+            }
+            masks[y] = mask;
+        }
+        return masks;
+    }
+
+    /**
+     * Check whether a compiled shape fits inside the grid at the given anchor without collisions
+     */
+    boolean canPlace(long[] shapeRows, int shapeWidth, int gridX, int gridY) {
+        return fits(rows, width, shapeRows, shapeWidth, gridX, gridY);
+    }
+
+    /**
+     * Placement test against a copy of the row masks (see copyRowsInto)
+     */
+    static boolean fits(long[] rows, int width, long[] shapeRows, int shapeWidth, int gridX, int gridY) {
+        if (gridX < 0 || gridY < 0 || gridX + shapeWidth > width || gridY + shapeRows.length > rows.length) {
+            return false; // Out of bounds
+        }
+        for (int y = 0; y < shapeRows.length; y++) {
+            if ((rows[gridY + y] & (shapeRows[y] << gridX)) != 0) {
+                return false; // Cell occupied
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mark the cells of a compiled shape as owned by the given process.
+     * The anchor must already have been validated with canPlace.
+     */
+    void place(long[] shapeRows, int gridX, int gridY, int processId) {
+        for (int y = 0; y < shapeRows.length; y++) {
+            long mask = shapeRows[y] << gridX;
+            rows[gridY + y] |= mask;
+            setOwners(gridY + y, mask, processId + 1);
+        }
+    }
+
+    /**
+     * Clear the cells covered by a compiled shape, ignoring the parts that fall outside the grid
+     */
+    void remove(long[] shapeRows, int gridX, int gridY) {
+        for (int y = 0; y < shapeRows.length; y++) {
+            int row = gridY + y;
+            if (row < 0 || row >= height) continue;
+            long mask = (gridX >= 0 ? shapeRows[y] << gridX : shapeRows[y] >>> -gridX) & fullRowMask;
+            rows[row] &= ~mask;
+            setOwners(row, mask, 0);
+        }
+    }
+
+    /**
+     * Clear a single cell
+     */
+    void clearCell(int x, int y) {
+        rows[y] &= ~(1L << x);
+        owners[y * width + x] = 0;
+    }
+
+    boolean isOccupied(int x, int y) {
+        return (rows[y] & (1L << x)) != 0;
+    }
+
+    /**
+     * Get the process ID owning a cell, or -1 if the cell is empty
+     */
+    int ownerAt(int x, int y) {
+        return owners[y * width + x] - 1;
+    }
+
+    boolean isRowFull(int y) {
+        return rows[y] == fullRowMask;
+    }
+
+    boolean isColumnFull(int x) {
+        long bit = 1L << x;
+        for (int y = 0; y < height; y++) {
+            if ((rows[y] & bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a bitmask of the rows that are completely filled (bit y set = row y full)
+     */
+    long fullRows() {
+        long full = 0;
+        for (int y = 0; y < height; y++) {
+            if (rows[y] == fullRowMask) {
+                full |= 1L << y;
+            }
+        }
+        return full;
+    }
+
+    /**
+     * Get a bitmask of the columns that are completely filled (bit x set = column x full)
+     */
+    long fullColumns() {
+        long full = fullRowMask;
+        for (int y = 0; y < height && full != 0; y++) {
+            full &= rows[y];
+        }
+        return full;
+    }
+
+    /**
+     * Copy the occupancy bitmask of every row into target, which must hold at least height entries
+     */
+    void copyRowsInto(long[] target) {
+        System.arraycopy(rows, 0, target, 0, height);
+    }
+
+    /**
+     * Copy the owner map into a [height][width] array using the 0 = empty, >0 = ID + 1 encoding
+     */
+    void copyOwnersInto(int[][] target) {
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(owners, y * width, target[y], 0, width);
+        }
+    }
+
+    private void setOwners(int row, long mask, int value) {
+        int base = row * width;
+        while (mask != 0) {
+            int x = Long.numberOfTrailingZeros(mask);
+            owners[base + x] = value;
+            mask &= mask - 1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.cs205.engine;
+
+/**
+ * A cell of the grid, in grid coordinates
+ */
+public final class GridCell {
+    public final int x;
+    public final int y;
+
+    public GridCell(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.cs205.engine;
+
+/**
+ * Logging sink for the engine, so it does not depend on android.util.Log.
+ * The app plugs in an adapter to Logcat; headless runs can discard or print messages.
+ */
+public interface Logger {
+    /**
+     * Check whether debug messages are kept. Hot paths check this before building a message,
+     * so a disabled logger costs no string building.
+     */
+    default boolean isDebugEnabled() {
+        return true;
+    }
+
+    void d(String tag, String message);
+
+    void w(String tag, String message);
+
+    void e(String tag, String message, Throwable error);
+
+    /**
+     * Discards everything
+     */
+    Logger NONE = new Logger() {
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public void d(String tag, String message) {
+        }
+
+        @Override
+        public void w(String tag, String message) {
+        }
+
+        @Override
+        public void e(String tag, String message, Throwable error) {
+        }
+    };
+}
@@ -1,42 +1,52 @@
-package com.example.cs205;
-import android.graphics.Color;
-import android.graphics.Point;
-import android.os.SystemClock;
-import android.util.Log;
+package com.example.cs205.engine;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProcessBlock {
+    // --- Colors, as ARGB ints (same encoding as android.graphics.Color) ---
+    public static final int STARVING_COLOR = 0xFFFF0000; // Red, for blocks that waited too long
+    private static final int CYAN = 0xFF00FFFF;
+    private static final int YELLOW = 0xFFFFFF00;
+    private static final int MAGENTA = 0xFFFF00FF;
+    private static final int ORANGE = 0xFFFFA500;
+    private static final int GREEN = 0xFF00FF00;
 
-class ProcessBlock {
     // --- Fields ---
     int id; // Unique ID for the process
     int[][] shape; // 2D array defining the block's shape (e.g., {{1,1}, {1,1}} for a square)
+    long[] shapeMask; // Shape compiled to one bitmask per row for GridBitboard
     int color; // Color of the block
-    Point position; // Top-left position on the grid (grid coordinates, not pixels)
+    int gridX = -1; // Top-left position on the grid (grid coordinates, not pixels), -1 if off-grid
+    int gridY = -1;
     long startTimeMillis = -1; // Time when placed on the grid, -1 if not placed
     long timeLimitMillis; // How long this process needs to run
     long timeElapsedMillis = 0; // How long it has run so far
     boolean isPlaced = false; // Is the block currently on the CPU grid?
     boolean isFinished = false; // Has the process completed execution?
-    long creationTimeMillis; // When the block was created (for starvation)
+    long creationTimeMillis; // Simulation time when the block was created (for starvation)
     long maxWaitTimeMillis = 10000; // Max time to wait before becoming "impatient" (10s)
 
-    private static int nextId = 0;
-    private static final Random random = new Random();
-
-    transient int tempDrawX = -1;
-    transient int tempDrawY = -1;
-    transient int tempDrawCellSize = -1;
+    private static final AtomicInteger nextSharedId = new AtomicInteger(); // For blocks made outside a game
 
     public boolean isBeingDragged = false;
 
     // --- Constructor ---
-    public ProcessBlock(int[][] shape, int color, long timeLimitMillis) {
-        this.id = nextId++;
+    // All times are simulation times in milliseconds (see GameEngine.getSimulationTime)
+    public ProcessBlock(int[][] shape, int color, long timeLimitMillis, long creationTimeMillis) {
+        this(nextSharedId.getAndIncrement(), shape, color, timeLimitMillis, creationTimeMillis);
+    }
+
+    /**
+     * @param id Id unique within the game, handed out by the GameEngine
+     */
+    public ProcessBlock(int id, int[][] shape, int color, long timeLimitMillis, long creationTimeMillis) {
+        this.id = id;
         this.shape = shape;
+        this.shapeMask = GridBitboard.compileShape(shape);
         this.color = color;
-        this.position = new Point(-1, -1); // Initially off-grid
         this.timeLimitMillis = timeLimitMillis;
-        this.creationTimeMillis = SystemClock.elapsedRealtime();
+        this.creationTimeMillis = creationTimeMillis;
     }
 
     // --- Methods ---
@@ -53,53 +63,55 @@ class ProcessBlock {
     }
 
     // Starts the process timer
-    public void startTimer() {
+    public void startTimer(long now) {
         if (isPlaced && startTimeMillis == -1) {
-            startTimeMillis = SystemClock.elapsedRealtime();
-            Log.d("ProcessBlock", "Process " + id + " timer started.");
+            startTimeMillis = now;
         }
     }
 
     // Stops the process timer and updates elapsed time
-    public void stopTimer() {
+    public void stopTimer(long now) {
         if (isPlaced && startTimeMillis != -1) {
-            timeElapsedMillis += (SystemClock.elapsedRealtime() - startTimeMillis);
+            timeElapsedMillis += (now - startTimeMillis);
             startTimeMillis = -1; // Reset start time as it's paused
-            Log.d("ProcessBlock", "Process " + id + " timer stopped. Elapsed: " + timeElapsedMillis);
         }
     }
 
     // Updates the timer if currently running
-    public void updateTimer() {
+    public void updateTimer(long now) {
         if (isPlaced && startTimeMillis != -1) {
-            long currentTime = SystemClock.elapsedRealtime();
-            long currentRunTime = timeElapsedMillis + (currentTime - startTimeMillis);
+            long currentRunTime = timeElapsedMillis + (now - startTimeMillis);
             if (currentRunTime >= timeLimitMillis) {
                 isFinished = true;
                 timeElapsedMillis = timeLimitMillis; // Cap elapsed time
                 startTimeMillis = -1; // Stop timer
-                Log.d("ProcessBlock", "Process " + id + " finished execution.");
             }
         }
     }
 
+    // Get the time at which the running timer will reach the limit, or Long.MAX_VALUE if not running
+    public long getCompletionTime() {
+        if (!isPlaced || startTimeMillis == -1) return Long.MAX_VALUE;
+        return startTimeMillis + (timeLimitMillis - timeElapsedMillis);
+    }
+
     // Check if the block is starving (waiting too long)
-    public boolean isStarving() {
-        return !isPlaced && (SystemClock.elapsedRealtime() - creationTimeMillis) > maxWaitTimeMillis;
+    public boolean isStarving(long now) {
+        return !isPlaced && (now - creationTimeMillis) > maxWaitTimeMillis;
     }
 
     // Get remaining time percentage (0.0 to 1.0)
-    public float getProgress() {
+    public float getProgress(long now) {
         if (timeLimitMillis <= 0) return 0f;
         long currentRunTime = timeElapsedMillis;
         if (isPlaced && startTimeMillis != -1) {
-            currentRunTime += (SystemClock.elapsedRealtime() - startTimeMillis);
+            currentRunTime += (now - startTimeMillis);
         }
         return Math.min(1.0f, (float) currentRunTime / timeLimitMillis);
     }
 
     // --- Static Factory for creating random blocks ---
-    public static ProcessBlock createRandomProcess() {
+    public static ProcessBlock createRandomProcess(int id, SplittableRandom random, long now, GameRules rules) {
         int type = random.nextInt(5); // Example: 5 types of blocks
         int color;
         int[][] shape;
@@ -108,31 +120,33 @@ class ProcessBlock {
         switch (type) {
             case 0: // I shape
                 shape = new int[][]{{1, 1, 1, 1}};
-                color = Color.CYAN;
+                color = CYAN;
                 timeLimit = 15000; // 15 seconds
                 break;
             case 1: // O shape
                 shape = new int[][]{{1, 1}, {1, 1}};
-                color = Color.YELLOW;
+                color = YELLOW;
                 timeLimit = 12000; // 12 seconds
                 break;
             case 2: // T shape
                 shape = new int[][]{{1, 1, 1}, {0, 1, 0}};
-                color = Color.MAGENTA;
+                color = MAGENTA;
                 timeLimit = 8000; // 8 seconds
                 break;
             case 3: // L shape
                 shape = new int[][]{{1, 0}, {1, 0}, {1, 1}};
-                color = Color.rgb(255, 165, 0); // Orange
+                color = ORANGE;
                 timeLimit = 10000; // 10 seconds
                 break;
             case 4: // S shape
             default:
                 shape = new int[][]{{0, 1, 1}, {1, 1, 0}};
-                color = Color.GREEN;
+                color = GREEN;
                 timeLimit = 5000; // 5 seconds
                 break;
         }
-        return new ProcessBlock(shape, color, timeLimit);
+        ProcessBlock block = new ProcessBlock(id, shape, color, Math.round(timeLimit * rules.timeLimitScale), now);
+        block.maxWaitTimeMillis = rules.maxWaitMillis;
+        return block;
     }
 }
\ No newline at end of file
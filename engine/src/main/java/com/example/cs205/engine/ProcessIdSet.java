@@ -0,0 +1,45 @@
+package com.example.cs205.engine;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitset of process ids with O(1) insert, membership and size.
+ * Intended for a single writer; size() may be read from any thread.
+ */
+class ProcessIdSet {
+    private long[] words = new long[1]; // Bit (id % 64) of words[id / 64] set when id is present
+    private volatile int size = 0;
+
+    /**
+     * Add a process id
+     * @return true if the id was not present before
+     */
+    boolean add(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int word = id >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        long bit = 1L << id; // Shift distance is taken mod 64
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        words[word] |= bit;
+        size++;
+        return true;
+    }
+
+    boolean contains(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Number of ids in the set
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.cs205.engine;
+
+import java.util.Arrays;
+
+/**
+ * Registry of live ProcessBlocks with O(1) lookup by id.
+ * Ids are handed out by a monotonically increasing counter, so blocks are kept in a dense
+ * array indexed by (id - baseId). A second compact array holds the live blocks for iteration
+ * and supports O(1) swap-removal. Not thread-safe: only used from the simulation thread.
+ */
+class ProcessRegistry {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ProcessBlock[] byId = new ProcessBlock[INITIAL_CAPACITY]; // Indexed by id - baseId
+    private int[] liveIndex = new int[INITIAL_CAPACITY]; // Position in live[] for each registered id
+    private ProcessBlock[] live = new ProcessBlock[INITIAL_CAPACITY]; // Compact list of live blocks
+    private int size = 0;
+    private int baseId = -1; // Smallest id the dense array can hold, set by the first add
+
+    /**
+     * Register a block. Re-adding a block that is already registered is a no-op.
+     */
+    void add(ProcessBlock block) {
+        if (baseId < 0) {
+            baseId = block.id;
+        } else if (block.id < baseId) {
+            rebase(block.id);
+        }
+        int slot = block.id - baseId;
+        ensureIdCapacity(slot + 1);
+        if (byId[slot] != null) {
+            return;
+        }
+
+        if (size == live.length) {
+            live = Arrays.copyOf(live, size * 2);
+        }
+        byId[slot] = block;
+        liveIndex[slot] = size;
+        live[size++] = block;
+    }
+
+    /**
+     * Unregister a block
+     * @return true if the block was registered
+     */
+    boolean remove(ProcessBlock block) {
+        int slot = block.id - baseId;
+        if (baseId < 0 || slot < 0 || slot >= byId.length || byId[slot] != block) {
+            return false;
+        }
+
+        // Move the last live block into the freed position
+        int index = liveIndex[slot];
+        ProcessBlock last = live[--size];
+        live[index] = last;
+        liveIndex[last.id - baseId] = index;
+        live[size] = null;
+        byId[slot] = null;
+        return true;
+    }
+
+    /**
+     * Look up a live block by id
+     * @return The block, or null if no live block has this id
+     */
+    ProcessBlock get(int id) {
+        int slot = id - baseId;
+        if (baseId < 0 || slot < 0 || slot >= byId.length) {
+            return null;
+        }
+        return byId[slot];
+    }
+
+    /**
+     * Number of live blocks
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the live block at a position in [0, size()). Order changes when blocks are removed.
+     */
+    ProcessBlock getAt(int index) {
+        return live[index];
+    }
+
+    private void ensureIdCapacity(int capacity) {
+        if (capacity > byId.length) {
+            int newLength = Math.max(capacity, byId.length * 2);
+            byId = Arrays.copyOf(byId, newLength);
+            liveIndex = Arrays.copyOf(liveIndex, newLength);
+        }
+    }
+
+    private void rebase(int newBaseId) {
+        int shift = baseId - newBaseId;
+        ProcessBlock[] newById = new ProcessBlock[byId.length + shift];
+        int[] newLiveIndex = new int[newById.length];
+        System.arraycopy(byId, 0, newById, shift, byId.length);
+        System.arraycopy(liveIndex, 0, newLiveIndex, shift, liveIndex.length);
+        byId = newById;
+        liveIndex = newLiveIndex;
+        baseId = newBaseId;
+    }
+}
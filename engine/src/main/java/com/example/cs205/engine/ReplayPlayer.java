@@ -0,0 +1,278 @@
+package com.example.cs205.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Plays back a log written by ReplayRecorder on a headless engine, as fast as the steps
+ * can be computed. The recorded input is fed in at the steps it was applied at, and the
+ * outcome the engine produces is checked against the recorded one.
+ *
+ * Usage: java -cp engine.jar com.example.cs205.engine.ReplayPlayer replay.bin
+ */
+public final class ReplayPlayer {
+    private final int gridWidth;
+    private final int gridHeight;
+    private final long seed;
+
+    // Records, decoded up front so the replay loop does no parsing
+    private int count = 0;
+    private byte[] types = new byte[256];
+    private long[] times = new long[256];
+    private int[] ints = new int[256 * 3]; // Up to three int fields per record
+    private float[] floats = new float[256 * 2]; // Touch coordinates
+
+    private static final int HEADER_SIZE = 18; // Magic, version, grid width, grid height, seed
+
+    private ReplayPlayer(ByteBuffer log) {
+        if (log.remaining() < HEADER_SIZE || log.getInt() != ReplayRecorder.MAGIC) {
+            throw new IllegalArgumentException("Not a replay log");
+        }
+        int version = log.getShort();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay log version " + version);
+        }
+        gridWidth = log.getShort();
+        gridHeight = log.getShort();
+        seed = log.getLong();
+        decode(log);
+    }
+
+    /**
+     * Read a replay log
+     * @throws IllegalArgumentException if the file is not a replay log
+     */
+    public static ReplayPlayer open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ReplayPlayer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the simulation time the recorded game ended at
+     */
+    public long getEndTime() {
+        return count > 0 ? times[count - 1] : 0;
+    }
+
+    /**
+     * Play the game back on a new engine
+     */
+    public Result play(Logger logger) {
+        GameEngine engine = new GameEngine(gridWidth, gridHeight, seed, logger);
+        Verifier verifier = new Verifier();
+        engine.setEventListener(verifier);
+        long step = GameEngine.SIMULATION_STEP_MILLIS;
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            byte type = types[i];
+            if (!isInput(type)) {
+                continue;
+            }
+            // Input is applied by the step that ends at the record's time
+            long time = times[i];
+            while (engine.getSimulationTime() + step < time) {
+                engine.update();
+            }
+            switch (type) {
+                case ReplayRecorder.LAYOUT:
+                    engine.setLayout(new BoardLayout(ints[i * 3], ints[i * 3 + 1], gridWidth, gridHeight));
+                    break;
+                case ReplayRecorder.TOUCH_DOWN:
+                    engine.touchDown(floats[i * 2], floats[i * 2 + 1]);
+                    break;
+                case ReplayRecorder.TOUCH_UP:
+                    engine.touchUp(floats[i * 2], floats[i * 2 + 1]);
+                    break;
+                case ReplayRecorder.PAUSE:
+                    engine.pause();
+                    break;
+                case ReplayRecorder.RESUME:
+                    engine.resume();
+                    break;
+                case ReplayRecorder.END:
+                    while (engine.getSimulationTime() < time) {
+                        engine.update();
+                    }
+                    break;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return new Result(engine, elapsedNanos, verifier.checked, verifier.mismatch);
+    }
+
+    private static boolean isInput(byte type) {
+        return type <= ReplayRecorder.RESUME;
+    }
+
+    /**
+     * Outcome of a replay
+     */
+    public static final class Result {
+        public final GameEngine engine; // Engine in the state the replay ended in
+        public final long elapsedNanos; // Wall time the replay took
+        public final int eventsChecked; // Recorded outcome events matched so far
+        public final String mismatch; // First difference from the recorded outcome, or null
+
+        Result(GameEngine engine, long elapsedNanos, int eventsChecked, String mismatch) {
+            this.engine = engine;
+            this.elapsedNanos = elapsedNanos;
+            this.eventsChecked = eventsChecked;
+            this.mismatch = mismatch;
+        }
+
+        public boolean matches() {
+            return mismatch == null;
+        }
+    }
+
+    // Compares the outcome events of the replay, in order, with the recorded ones
+    private final class Verifier implements GameEventListener {
+        private int next = 0; // Next recorded record to look at
+        private int checked = 0;
+        private String mismatch = null;
+
+        @Override
+        public void onSpawn(long time, int blockId) {
+            check(ReplayRecorder.SPAWN, time, blockId, 0, 0);
+        }
+
+        @Override
+        public void onDragStart(long time, int blockId) {
+            check(ReplayRecorder.DRAG_START, time, blockId, 0, 0);
+        }
+
+        @Override
+        public void onDragStop(long time, int blockId) {
+            check(ReplayRecorder.DRAG_STOP, time, blockId, 0, 0);
+        }
+
+        @Override
+        public void onPlace(long time, int blockId, int gridX, int gridY) {
+            check(ReplayRecorder.PLACE, time, blockId, gridX, gridY);
+        }
+
+        @Override
+        public void onClear(long time, int blockId) {
+            check(ReplayRecorder.CLEAR, time, blockId, 0, 0);
+        }
+
+        private void check(byte type, long time, int blockId, int gridX, int gridY) {
+            if (mismatch != null) {
+                return;
+            }
+            while (next < count && isInput(types[next])) {
+                next++;
+            }
+            if (next == count) {
+                return; // Past the end of the recording, e.g. a spawn in the last step
+            }
+            int i = next++;
+            boolean same = types[i] == type && times[i] == time && ints[i * 3] == blockId;
+            if (type == ReplayRecorder.PLACE) {
+                same &= ints[i * 3 + 1] == gridX && ints[i * 3 + 2] == gridY;
+            }
+            if (same) {
+                checked++;
+            } else {
+                mismatch = "Expected event " + types[i] + " at " + times[i] + " ms for block "
+                        + ints[i * 3] + ", got event " + type + " at " + time
+                        + " ms for block " + blockId;
+            }
+        }
+    }
+
+    // --- Decoding ---
+
+    private void decode(ByteBuffer log) {
+        long time = 0;
+        while (log.hasRemaining()) {
+            byte type = log.get();
+            time += getVarint(log);
+            ensureCapacity(count + 1);
+            types[count] = type;
+            times[count] = time;
+            switch (type) {
+                case ReplayRecorder.LAYOUT:
+                    ints[count * 3] = (int) getVarint(log);
+                    ints[count * 3 + 1] = (int) getVarint(log);
+                    break;
+                case ReplayRecorder.TOUCH_DOWN:
+                case ReplayRecorder.TOUCH_UP:
+                    floats[count * 2] = log.getFloat();
+                    floats[count * 2 + 1] = log.getFloat();
+                    break;
+                case ReplayRecorder.SPAWN:
+                case ReplayRecorder.DRAG_START:
+                case ReplayRecorder.DRAG_STOP:
+                case ReplayRecorder.CLEAR:
+                    ints[count * 3] = (int) getVarint(log);
+                    break;
+                case ReplayRecorder.PLACE:
+                    ints[count * 3] = (int) getVarint(log);
+                    ints[count * 3 + 1] = (int) getVarint(log);
+                    ints[count * 3 + 2] = (int) getVarint(log);
+                    break;
+                case ReplayRecorder.END:
+                case ReplayRecorder.PAUSE:
+                case ReplayRecorder.RESUME:
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown record type " + type + " at offset " + log.position());
+            }
+            count++;
+            if (type == ReplayRecorder.END) {
+                return;
+            }
+        }
+    }
+
+    private static long getVarint(ByteBuffer log) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = log.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > types.length) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            times = Arrays.copyOf(times, capacity);
+            ints = Arrays.copyOf(ints, capacity * 3);
+            floats = Arrays.copyOf(floats, capacity * 2);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayPlayer <replay log>");
+            System.exit(2);
+        }
+        ReplayPlayer player = open(Paths.get(args[0]));
+        Result result = player.play(Logger.NONE);
+        System.out.println("Replayed " + player.getEndTime() + " ms of simulation in "
+                + result.elapsedNanos / 1_000_000 + " ms, " + result.eventsChecked + " events matched");
+        System.out.println("Cleared " + result.engine.getProcessesCleared() + ", starved "
+                + result.engine.getProcessesStarved() + ", score " + result.engine.getScore());
+        if (!result.matches()) {
+            System.out.println("Replay diverged: " + result.mismatch);
+            System.exit(1);
+        }
+    }
+}
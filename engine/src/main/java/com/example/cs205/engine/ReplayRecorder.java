@@ -0,0 +1,199 @@
+package com.example.cs205.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the events of a game to a compact binary log that ReplayPlayer can play back.
+ * Events are encoded into a direct buffer and written to the file channel when it fills,
+ * so recording costs a few bytes per event and no allocation on the simulation thread.
+ *
+ * Layout: header (magic, version, grid width, grid height, seed), then records of a type
+ * byte, the time since the previous record as a varint, and the fields of that type.
+ * The log ends with an END record at the time the game stopped.
+ */
+public class ReplayRecorder implements GameEventListener, Closeable {
+    static final int MAGIC = 0x43535250; // "CSRP"
+    static final int VERSION = 2; // 2: spawns drawn from a SplittableRandom, per-game block ids
+
+    // --- Record types ---
+    static final byte END = 0;
+    static final byte LAYOUT = 1; // width, height
+    static final byte TOUCH_DOWN = 2; // x, y
+    static final byte TOUCH_UP = 3; // x, y
+    static final byte PAUSE = 4;
+    static final byte RESUME = 5;
+    static final byte SPAWN = 6; // block id
+    static final byte DRAG_START = 7; // block id
+    static final byte DRAG_STOP = 8; // block id
+    static final byte PLACE = 9; // block id, grid x, grid y
+    static final byte CLEAR = 10; // block id
+
+    private static final String LOG_TAG = "ReplayRecorder";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 1 + 10 + 3 * 5; // Type, time and three varint fields
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Logger logger;
+    private long lastTime = 0;
+    private boolean closed = false;
+
+    /**
+     * Start a new log at path, replacing any existing file
+     * @param seed Seed the engine was created with (GameEngine.getSeed)
+     */
+    public ReplayRecorder(Path path, int gridWidth, int gridHeight, long seed, Logger logger) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.logger = logger;
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) gridWidth);
+        buffer.putShort((short) gridHeight);
+        buffer.putLong(seed);
+    }
+
+    // --- Input ---
+
+    @Override
+    public synchronized void onLayout(long time, int width, int height) {
+        if (begin(LAYOUT, time)) {
+            putVarint(width);
+            putVarint(height);
+        }
+    }
+
+    @Override
+    public synchronized void onTouchDown(long time, float x, float y) {
+        if (begin(TOUCH_DOWN, time)) {
+            buffer.putFloat(x);
+            buffer.putFloat(y);
+        }
+    }
+
+    @Override
+    public synchronized void onTouchUp(long time, float x, float y) {
+        if (begin(TOUCH_UP, time)) {
+            buffer.putFloat(x);
+            buffer.putFloat(y);
+        }
+    }
+
+    @Override
+    public synchronized void onPauseChanged(long time, boolean paused) {
+        begin(paused ? PAUSE : RESUME, time);
+    }
+
+    // --- Outcome ---
+
+    @Override
+    public synchronized void onSpawn(long time, int blockId) {
+        if (begin(SPAWN, time)) {
+            putVarint(blockId);
+        }
+    }
+
+    @Override
+    public synchronized void onDragStart(long time, int blockId) {
+        if (begin(DRAG_START, time)) {
+            putVarint(blockId);
+        }
+    }
+
+    @Override
+    public synchronized void onDragStop(long time, int blockId) {
+        if (begin(DRAG_STOP, time)) {
+            putVarint(blockId);
+        }
+    }
+
+    @Override
+    public synchronized void onPlace(long time, int blockId, int gridX, int gridY) {
+        if (begin(PLACE, time)) {
+            putVarint(blockId);
+            putVarint(gridX);
+            putVarint(gridY);
+        }
+    }
+
+    @Override
+    public synchronized void onClear(long time, int blockId) {
+        if (begin(CLEAR, time)) {
+            putVarint(blockId);
+        }
+    }
+
+    /**
+     * End the log at the given simulation time and close the file.
+     * The player runs the game up to this time. Later events are ignored.
+     */
+    public synchronized void finish(long endTime) {
+        if (begin(END, Math.max(endTime, lastTime))) {
+            flush();
+        }
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.e(LOG_TAG, "Failed to close replay log", e);
+        }
+    }
+
+    /**
+     * End the log at the time of the last event
+     */
+    @Override
+    public synchronized void close() {
+        finish(lastTime);
+    }
+
+    // Write the record header, making room for the largest record first
+    // Returns false if the log is closed
+    private boolean begin(byte type, long time) {
+        if (closed) {
+            return false;
+        }
+        if (buffer.remaining() < MAX_RECORD_SIZE && !flush()) {
+            return false;
+        }
+        buffer.put(type);
+        putVarint(time - lastTime);
+        lastTime = time;
+        return true;
+    }
+
+    // Write out the buffered records; on failure recording stops, the game goes on
+    private boolean flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            return true;
+        } catch (IOException e) {
+            logger.e(LOG_TAG, "Failed to write replay log, recording stopped", e);
+            closed = true;
+            return false;
+        }
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last byte
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
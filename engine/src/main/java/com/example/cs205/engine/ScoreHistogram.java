@@ -0,0 +1,96 @@
+package com.example.cs205.engine;
+
+import java.util.Arrays;
+
+/**
+ * Number of games per score, for rank statistics of the stored history and of batch
+ * simulations. Scores span a small range, so this stays small however many games were played.
+ */
+public final class ScoreHistogram {
+    private final int[] scores; // Distinct scores, ascending
+    private final long[] games; // Games with each score
+    private final long totalGames;
+
+    /**
+     * @param scores Distinct scores in ascending order
+     * @param games Number of games with each score
+     */
+    public ScoreHistogram(int[] scores, long[] games) {
+        if (scores.length != games.length) {
+            throw new IllegalArgumentException("Got " + scores.length + " scores but " + games.length + " counts");
+        }
+        this.scores = scores;
+        this.games = games;
+        long total = 0;
+        for (long count : games) {
+            total += count;
+        }
+        this.totalGames = total;
+    }
+
+    /**
+     * Count the games per score
+     * @param scores Score of each game, in any order
+     */
+    public static ScoreHistogram of(int[] scores) {
+        int[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                distinct++;
+            }
+        }
+        int[] values = new int[distinct];
+        long[] games = new long[distinct];
+        int next = -1;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                values[++next] = sorted[i];
+            }
+            games[next]++;
+        }
+        return new ScoreHistogram(values, games);
+    }
+
+    public long getTotalGames() {
+        return totalGames;
+    }
+
+    /**
+     * Get the score at a percentile, by nearest rank
+     * @param fraction Percentile as a fraction, 0 to 1
+     * @return The lowest score that at least fraction of the games scored at most, or 0 when there are no games
+     */
+    public int percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1, got " + fraction);
+        }
+        if (totalGames == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * totalGames));
+        long seen = 0;
+        for (int i = 0; i < scores.length; i++) {
+            seen += games[i];
+            if (seen >= rank) {
+                return scores[i];
+            }
+        }
+        return scores[scores.length - 1];
+    }
+
+    /**
+     * Get the fraction (0 to 1) of games that scored less than a score
+     */
+    public double rankOf(int score) {
+        if (totalGames == 0) {
+            return 0;
+        }
+        long below = 0;
+        for (int i = 0; i < scores.length && scores[i] < score; i++) {
+            below += games[i];
+        }
+        return (double) below / totalGames;
+    }
+}
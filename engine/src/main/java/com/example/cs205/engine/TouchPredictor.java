@@ -0,0 +1,125 @@
+package com.example.cs205.engine;
+
+/**
+ * Estimates where the finger will be a moment from now, so a dragged block can be drawn
+ * where the finger is when the frame reaches the screen rather than where it was sampled.
+ * The input thread adds every touch sample, historical ones included, to a lock-free
+ * single-producer single-consumer ring; the render thread drains the ring once per frame,
+ * so however many samples arrived they cost one estimate. Nothing allocates after construction.
+ */
+public final class TouchPredictor {
+    private static final long VELOCITY_WINDOW_NANOS = 40_000_000L; // Samples this recent set the velocity
+    private static final long STALE_NANOS = 50_000_000L; // No sample for this long: the finger is resting, no prediction
+    private static final long MAX_LOOKAHEAD_NANOS = 33_000_000L; // Never extrapolate further than two 60 Hz frames
+    private static final int HISTORY_SIZE = 16; // Consumer-side samples kept for the velocity, a power of two
+
+    // --- Ring, written by the input thread ---
+    private final int mask;
+    private final long[] sampleTimes;
+    private final float[] sampleXs;
+    private final float[] sampleYs;
+    private final boolean[] sampleStarts; // First sample of a gesture: forget the previous one
+    private volatile long tail = 0; // Next slot to write, only written by the producer
+    private volatile long head = 0; // Next slot to read, only written by the consumer
+
+    // --- History, owned by the consumer ---
+    private final long[] historyTimes = new long[HISTORY_SIZE];
+    private final float[] historyXs = new float[HISTORY_SIZE];
+    private final float[] historyYs = new float[HISTORY_SIZE];
+    private int historyCount = 0; // Samples of the current gesture, up to HISTORY_SIZE
+    private int historyNext = 0; // Slot for the next sample
+
+    /**
+     * @param capacity Samples that can wait between two frames, must be a power of two
+     */
+    public TouchPredictor(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        mask = capacity - 1;
+        sampleTimes = new long[capacity];
+        sampleXs = new float[capacity];
+        sampleYs = new float[capacity];
+        sampleStarts = new boolean[capacity];
+    }
+
+    /**
+     * Add a touch sample (input thread only)
+     * @param timeNanos When the sample was taken, on the same time base as every other sample
+     * @param gestureStart Whether this is the first sample of a new gesture
+     * @return false if the ring was full and the sample was dropped
+     */
+    public boolean addSample(long timeNanos, float x, float y, boolean gestureStart) {
+        long currentTail = tail;
+        if (currentTail - head > mask) {
+            return false; // The consumer is more than a ring behind; the latest position is kept elsewhere
+        }
+        int index = (int) (currentTail & mask);
+        sampleTimes[index] = timeNanos;
+        sampleXs[index] = x;
+        sampleYs[index] = y;
+        sampleStarts[index] = gestureStart;
+        tail = currentTail + 1; // Publish the slot to the consumer
+        return true;
+    }
+
+    /**
+     * Drain the new samples and extrapolate to a moment ahead of now (consumer thread only)
+     * @param nowNanos Current time, on the time base of the samples
+     * @param horizonNanos How far ahead of now to predict, e.g. one frame
+     * @param fallbackPosition Latest known position, packed like GameEngine.getTouchPosition;
+     *     returned when no recent sample is available, e.g. after samples were dropped
+     * @return Predicted position, packed like GameEngine.getTouchPosition
+     */
+    public long predict(long nowNanos, long horizonNanos, long fallbackPosition) {
+        drain();
+        if (historyCount == 0) {
+            return fallbackPosition;
+        }
+
+        int latest = (historyNext - 1) & (HISTORY_SIZE - 1);
+        long latestTime = historyTimes[latest];
+        if (nowNanos - latestTime > STALE_NANOS) {
+            return fallbackPosition; // The finger is resting
+        }
+        float x = historyXs[latest];
+        float y = historyYs[latest];
+
+        // Velocity from the oldest sample still inside the window to the latest
+        int oldest = latest;
+        for (int i = 1; i < historyCount; i++) {
+            int index = (latest - i) & (HISTORY_SIZE - 1);
+            if (latestTime - historyTimes[index] > VELOCITY_WINDOW_NANOS) {
+                break;
+            }
+            oldest = index;
+        }
+        long span = latestTime - historyTimes[oldest];
+        if (span <= 0) {
+            return GameEngine.packTouch(x, y);
+        }
+        long lookahead = Math.min(Math.max(0, nowNanos + horizonNanos - latestTime), MAX_LOOKAHEAD_NANOS);
+        double ahead = (double) lookahead / span;
+        return GameEngine.packTouch(
+                (float) (x + (x - historyXs[oldest]) * ahead),
+                (float) (y + (y - historyYs[oldest]) * ahead));
+    }
+
+    // Move every published sample into the history
+    private void drain() {
+        long currentHead = head;
+        long currentTail = tail;
+        for (; currentHead < currentTail; currentHead++) {
+            int index = (int) (currentHead & mask);
+            if (sampleStarts[index]) {
+                historyCount = 0;
+            }
+            historyTimes[historyNext] = sampleTimes[index];
+            historyXs[historyNext] = sampleXs[index];
+            historyYs[historyNext] = sampleYs[index];
+            historyNext = (historyNext + 1) & (HISTORY_SIZE - 1);
+            historyCount = Math.min(historyCount + 1, HISTORY_SIZE);
+        }
+        head = currentHead; // Hand the slots back to the producer
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.cs205.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer handing whole frames from one writer to one reader.
+ * The writer fills its back buffer and publishes it; the reader picks up the newest
+ * published buffer. Each side always owns a buffer the other cannot touch, so frames
+ * never tear and neither side ever waits or allocates.
+ */
+class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4; // Set while the ready buffer has not been picked up
+
+    private final Object[] buffers;
+    private final AtomicInteger ready = new AtomicInteger(1); // Index of the last published buffer, plus FRESH
+    private int back = 2; // Writer only
+    private int front = 0; // Reader only
+
+    TripleBuffer(T first, T second, T third) {
+        buffers = new Object[] { first, second, third };
+    }
+
+    /**
+     * Get the buffer to fill with the next frame (writer thread)
+     */
+    @SuppressWarnings("unchecked")
+    T back() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Make the back buffer the newest frame and take over the previous ready buffer (writer thread)
+     */
+    void publish() {
+        back = ready.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Get the newest published frame, or the current one if nothing new was published (reader thread)
+     */
+    @SuppressWarnings("unchecked")
+    T acquire() {
+        if ((ready.get() & FRESH) != 0) {
+            front = ready.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * Full and empty checks and wrap-around of the lock-free block ring.
+ */
+public class BlockQueueTest {
+
+    private static ProcessBlock block(int id) {
+        return new ProcessBlock(id, new int[][]{{1}}, 0, 1000, 0);
+    }
+
+    @Test
+    public void produce_intoFullQueue_failsAndCountsOverflow() {
+        BlockQueue queue = new BlockQueue(3, Logger.NONE);
+        assertNull(queue.consumeNonBlocking());
+        for (int id = 0; id < 3; id++) {
+            assertTrue(queue.produce(block(id)));
+        }
+        assertTrue(queue.isFull());
+        assertFalse(queue.produce(block(3)));
+        assertEquals(1, queue.getOverflowCount());
+        assertEquals(3, queue.getSize());
+
+        queue.resetOverflowCount();
+        assertEquals(0, queue.getOverflowCount());
+    }
+
+    @Test
+    public void ring_wrapsAroundInOrder() {
+        BlockQueue queue = new BlockQueue(3, Logger.NONE);
+        int nextId = 0;
+        int expectedId = 0;
+        for (int round = 0; round < 10; round++) { // Sequences run far past the capacity
+            while (queue.produce(block(nextId))) {
+                nextId++;
+            }
+            assertEquals(expectedId++, queue.consumeNonBlocking().id);
+            assertEquals(expectedId++, queue.consumeNonBlocking().id);
+        }
+        assertEquals(nextId - expectedId, queue.getSize());
+        while (expectedId < nextId) {
+            assertEquals(expectedId++, queue.consumeNonBlocking().id);
+        }
+        assertNull(queue.consumeNonBlocking());
+        assertEquals(0, queue.getSize());
+    }
+
+    @Test
+    public void getQueuedBlocks_afterWrapAround_isOldestFirstAndClearsStaleSlots() {
+        BlockQueue queue = new BlockQueue(3, Logger.NONE);
+        for (int id = 0; id < 3; id++) {
+            queue.produce(block(id));
+        }
+        ProcessBlock[] out = new ProcessBlock[3];
+        assertEquals(3, queue.getQueuedBlocks(out));
+
+        queue.consumeNonBlocking();
+        queue.consumeNonBlocking();
+        queue.produce(block(3)); // Wraps into the first slot
+        assertEquals(2, queue.getQueuedBlocks(out));
+        assertEquals(2, out[0].id);
+        assertEquals(3, out[1].id);
+        assertNull(out[2]);
+    }
+
+    @Test
+    public void concurrentConsumers_takeEveryBlockOnce() throws Exception {
+        BlockQueue queue = new BlockQueue(4, Logger.NONE);
+        int blocks = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> producer = executor.submit(() -> {
+                for (int id = 0; id < blocks; id++) {
+                    while (!queue.produce(block(id))) {
+                        Thread.yield(); // Let the other side run, even on a single core
+                    }
+                }
+            });
+            AtomicIntegerArray seen = new AtomicIntegerArray(blocks); // Times each block was taken
+            AtomicInteger taken = new AtomicInteger();
+            Future<?> first = executor.submit(() -> consume(queue, seen, taken));
+            Future<?> second = executor.submit(() -> consume(queue, seen, taken));
+            producer.get();
+            first.get();
+            second.get();
+            for (int id = 0; id < blocks; id++) {
+                assertEquals("Block " + id, 1, seen.get(id));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Take blocks until every block has been taken by one of the consumers
+    private static void consume(BlockQueue queue, AtomicIntegerArray seen, AtomicInteger taken) {
+        while (taken.get() < seen.length()) {
+            ProcessBlock block = queue.consumeNonBlocking();
+            if (block != null) {
+                seen.incrementAndGet(block.id);
+                taken.incrementAndGet();
+            } else {
+                Thread.yield(); // Let the other side run, even on a single core
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsZeroCapacity() {
+        new BlockQueue(0, Logger.NONE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Full and empty checks and wrap-around of the lock-free command ring.
+ */
+public class CommandQueueTest {
+
+    @Test
+    public void offer_intoFullQueue_failsUntilDrained() {
+        CommandQueue queue = new CommandQueue(4);
+        List<Float> drained = new ArrayList<>();
+        assertEquals(0, queue.drain((type, x, y) -> drained.add(x)));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(CommandQueue.TOUCH_DOWN, i, 0));
+        }
+        assertFalse(queue.offer(CommandQueue.TOUCH_UP, 4, 0));
+
+        assertEquals(4, queue.drain((type, x, y) -> drained.add(x)));
+        assertEquals(List.of(0f, 1f, 2f, 3f), drained);
+        assertTrue(queue.offer(CommandQueue.TOUCH_UP, 5, 0));
+    }
+
+    @Test
+    public void ring_wrapsAroundInOrder() {
+        CommandQueue queue = new CommandQueue(4);
+        List<int[]> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 25; round++) { // Sequences run far past the capacity
+            for (int i = 0; i < 3; i++, next++) {
+                assertTrue(queue.offer(next % 2 == 0 ? CommandQueue.TOUCH_DOWN : CommandQueue.TOUCH_UP, next, -next));
+            }
+            queue.drain((type, x, y) -> drained.add(new int[]{type, (int) x, (int) y}));
+        }
+        assertEquals(next, drained.size());
+        for (int i = 0; i < next; i++) {
+            int[] command = drained.get(i);
+            assertEquals(i % 2 == 0 ? CommandQueue.TOUCH_DOWN : CommandQueue.TOUCH_UP, command[0]);
+            assertEquals(i, command[1]);
+            assertEquals(-i, command[2]);
+        }
+    }
+
+    @Test
+    public void concurrentProducers_loseNothingAndKeepTheirOrder() throws Exception {
+        CommandQueue queue = new CommandQueue(8);
+        int producers = 3;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < perProducer; n++) {
+                        while (!queue.offer(CommandQueue.TOUCH_DOWN, producer, n)) {
+                            Thread.yield(); // Let the other side run, even on a single core
+                        }
+                    }
+                }));
+            }
+
+            // Drain on this thread, as the simulation thread would
+            int[] nextPerProducer = new int[producers];
+            int total = 0;
+            while (total < producers * perProducer) {
+                int drained = queue.drain((type, x, y) -> {
+                    int producer = (int) x;
+                    assertEquals(nextPerProducer[producer], (int) y);
+                    nextPerProducer[producer]++;
+                });
+                if (drained == 0) {
+                    Thread.yield();
+                }
+                total += drained;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(0, queue.drain((type, x, y) -> fail("Nothing left to drain")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsCapacityThatIsNotAPowerOfTwo() {
+        new CommandQueue(6);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Ordering, re-keying and removal of the indexed deadline heap.
+ */
+public class DeadlineHeapTest {
+
+    @Test
+    public void pollExpired_returnsDueIdsEarliestFirst() {
+        DeadlineHeap heap = new DeadlineHeap();
+        assertEquals(Long.MAX_VALUE, heap.peekDeadline());
+        assertEquals(-1, heap.pollExpired(Long.MAX_VALUE));
+
+        heap.schedule(1, 300);
+        heap.schedule(2, 100);
+        heap.schedule(3, 200);
+        assertEquals(100, heap.peekDeadline());
+        assertEquals(-1, heap.pollExpired(99));
+        assertEquals(2, heap.pollExpired(250));
+        assertEquals(3, heap.pollExpired(250));
+        assertEquals(-1, heap.pollExpired(250));
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void schedule_again_movesTheEntryEitherWay() {
+        DeadlineHeap heap = new DeadlineHeap();
+        heap.schedule(1, 100);
+        heap.schedule(2, 200);
+        heap.schedule(3, 300);
+
+        heap.schedule(3, 50); // Earlier
+        heap.schedule(2, 400); // Later
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.pollExpired(1000));
+        assertEquals(1, heap.pollExpired(1000));
+        assertEquals(2, heap.pollExpired(1000));
+    }
+
+    @Test
+    public void cancel_removesOnlyThatId() {
+        DeadlineHeap heap = new DeadlineHeap();
+        for (int id = 0; id < 5; id++) {
+            heap.schedule(id, 100 * (id + 1));
+        }
+        assertTrue(heap.cancel(2));
+        assertFalse(heap.cancel(2));
+        assertFalse(heap.cancel(99));
+        assertFalse(heap.cancel(-1));
+        assertFalse(heap.contains(2));
+        assertTrue(heap.contains(4));
+
+        int[] expected = {0, 1, 3, 4};
+        for (int id : expected) {
+            assertEquals(id, heap.pollExpired(Long.MAX_VALUE));
+        }
+        assertEquals(0, heap.size());
+
+        heap.schedule(2, 10); // A cancelled id can be scheduled again
+        assertEquals(2, heap.pollExpired(10));
+    }
+
+    @Test
+    public void randomOperations_matchASimpleModel() {
+        Random random = new Random(5);
+        DeadlineHeap heap = new DeadlineHeap();
+        Map<Integer, Long> model = new HashMap<>();
+        for (int op = 0; op < 20_000; op++) {
+            int id = random.nextInt(100); // Past the initial capacity of 16
+            switch (random.nextInt(3)) {
+                case 0:
+                case 1:
+                    long deadline = random.nextInt(1000);
+                    heap.schedule(id, deadline);
+                    model.put(id, deadline);
+                    break;
+                default:
+                    assertEquals(model.remove(id) != null, heap.cancel(id));
+                    break;
+            }
+            assertEquals(model.size(), heap.size());
+            long earliest = Long.MAX_VALUE;
+            for (long deadline : model.values()) {
+                earliest = Math.min(earliest, deadline);
+            }
+            assertEquals(earliest, heap.peekDeadline());
+        }
+
+        // Draining gives every remaining id once, in deadline order
+        long previous = Long.MIN_VALUE;
+        int id;
+        while ((id = heap.pollExpired(Long.MAX_VALUE)) >= 0) {
+            long deadline = model.remove(id);
+            assertTrue(deadline >= previous);
+            previous = deadline;
+        }
+        assertTrue(model.isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cs205.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EventLogTest {
+
+    @Test
+    public void record_keepsLatestEventsOldestFirst() {
+        EventLog log = new EventLog(4);
+        for (int id = 0; id < 6; id++) {
+            log.onSpawn(id * 10L, id);
+        }
+
+        assertEquals(4, log.size());
+        assertEquals(6, log.getRecordedCount());
+        assertEquals(2, log.getFirstArg(0));
+        assertEquals(20L, log.getTime(0));
+        assertEquals(5, log.getFirstArg(3));
+        assertEquals("50 ms: spawn block 5", log.format(3));
+    }
+
+    @Test
+    public void capacity_isRoundedUpToPowerOfTwo() {
+        EventLog log = new EventLog(5);
+        for (int id = 0; id < 20; id++) {
+            log.onClear(0, id);
+        }
+        assertEquals(8, log.size());
+        assertEquals(12, log.getFirstArg(0));
+    }
+
+    @Test
+    public void engine_recordsItsEventsAndSkippedSpawns() {
+        GameEngine engine = new GameEngine(6, 6, 42, Logger.NONE);
+        engine.setEventListener(new GameEventListener() {
+        });
+        for (int step = 0; step < 30_000; step++) {
+            engine.update();
+        }
+
+        EventLog log = engine.getEventLog();
+        boolean sawSpawn = false, sawSkippedSpawn = false;
+        for (int i = 0; i < log.size(); i++) {
+            sawSpawn |= log.getType(i) == EventLog.SPAWN;
+            sawSkippedSpawn |= log.getType(i) == EventLog.SPAWN_SKIPPED;
+        }
+        assertTrue(sawSpawn);
+        assertTrue(sawSkippedSpawn);
+    }
+}
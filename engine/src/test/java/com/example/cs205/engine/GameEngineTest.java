@@ -0,0 +1,178 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the engine headless on the host JVM, with no surface or Android framework.
+ */
+public class GameEngineTest {
+    // First queue slot of a 1080x1920 surface: x = 135, y = 20 + 6 * 180 + 20
+    private static final float QUEUE_SLOT_X = 140;
+    private static final float QUEUE_SLOT_Y = 1125;
+
+    @Test
+    public void update_withoutLayout_fillsQueueAndStarvesBlocks() {
+        GameEngine engine = new GameEngine(6, 6, 42, Logger.NONE);
+        for (int i = 0; i < 60_000; i++) { // Ten minutes of simulation time
+            engine.update();
+        }
+
+        assertEquals(60_000 * GameEngine.SIMULATION_STEP_MILLIS, engine.getSimulationTime());
+        FrameSnapshot frame = engine.acquireFrame();
+        assertEquals(engine.getQueueCapacity(), frame.queueCount);
+        assertTrue(engine.getProcessesStarved() > 0);
+    }
+
+    @Test
+    public void dragToGrid_placesBlockUntilItFinishes() {
+        GameEngine engine = new GameEngine(6, 6, 42, Logger.NONE);
+        engine.setLayout(new BoardLayout(1080, 1920, 6, 6));
+
+        engine.touchDown(QUEUE_SLOT_X, QUEUE_SLOT_Y);
+        engine.update();
+        assertTrue(engine.isDragging());
+
+        engine.touchUp(10, 25); // Drop at the top-left grid cell
+        engine.update();
+        assertFalse(engine.isDragging());
+        assertTrue(hasOccupiedCell(engine.getGridState()));
+
+        // Blocks run for at most 15 seconds
+        for (int i = 0; i < 1_600; i++) {
+            engine.update();
+        }
+        assertFalse(hasOccupiedCell(engine.getGridState()));
+        assertEquals(1, engine.getProcessesCleared());
+    }
+
+    @Test
+    public void twoFullRows_secondIsClearedOnlyIfStillFull() {
+        GameEngine engine = new GameEngine(4, 4, 42, Logger.NONE);
+        ProcessBlock tall = new ProcessBlock(100, new int[][]{{1}, {1}}, 0, 60_000, 0);
+        ProcessBlock bottom = new ProcessBlock(101, new int[][]{{1, 1, 1}}, 0, 60_000, 0);
+        ProcessBlock top = new ProcessBlock(102, new int[][]{{1, 1, 1}}, 0, 60_000, 0);
+        assertTrue(engine.placeBlockOnGrid(tall, 0, 2));
+        assertTrue(engine.placeBlockOnGrid(bottom, 1, 3));
+        assertTrue(engine.placeBlockOnGrid(top, 1, 2));
+
+        // Clearing the bottom row removes the tall block, so row 2 is no longer full
+        engine.checkAndClearLines();
+
+        int[][] grid = engine.getGridState();
+        assertEquals(2, engine.getProcessesCleared());
+        assertEquals(0, grid[2][0]);
+        assertEquals(top.id + 1, grid[2][1]);
+        assertEquals(0, grid[3][1]);
+    }
+
+    @Test
+    public void virtualClock_playsWholeRoundWithoutWaiting() {
+        VirtualClock clock = new VirtualClock();
+        GameEngine engine = new GameEngine(6, 6, 42, Logger.NONE);
+        FixedStepLoop loop = new FixedStepLoop(engine, clock, Logger.NONE);
+        Countdown round = new Countdown(clock, 120_000);
+
+        loop.start();
+        round.start();
+        clock.advanceMillis(round.getDurationMillis());
+        loop.catchUp();
+
+        assertTrue(round.isFinished());
+        assertEquals(120_000, engine.getSimulationTime());
+        assertEquals(0, loop.getDroppedSteps());
+    }
+
+    @Test
+    public void fallingBehind_warnsOnlyAsDroppedStepsDouble() {
+        VirtualClock clock = new VirtualClock();
+        int[] warnings = new int[1];
+        Logger counting = new Logger() {
+            @Override
+            public void d(String tag, String message) {
+            }
+
+            @Override
+            public void w(String tag, String message) {
+                warnings[0]++;
+            }
+
+            @Override
+            public void e(String tag, String message, Throwable error) {
+            }
+        };
+        FixedStepLoop loop = new FixedStepLoop(new GameEngine(6, 6, 42, Logger.NONE), clock, counting);
+
+        loop.start();
+        for (int frame = 0; frame < 1000; frame++) { // Every frame is 25 steps long, 5 are run
+            clock.advanceMillis(250);
+            loop.advance();
+        }
+
+        assertEquals(20_000, loop.getDroppedSteps());
+        assertEquals(10, warnings[0]); // At 20, 40, 80, ... 10240 dropped steps
+    }
+
+    @Test
+    public void sameSeed_givesSameGame() {
+        GameEngine first = new GameEngine(6, 6, 7, Logger.NONE);
+        GameEngine second = new GameEngine(6, 6, 7, Logger.NONE);
+        for (int i = 0; i < 12_000; i++) {
+            first.update();
+            second.update();
+        }
+        FrameSnapshot a = first.acquireFrame();
+        FrameSnapshot b = second.acquireFrame();
+        assertEquals(a.queueCount, b.queueCount);
+        assertArrayEquals(a.queueColors, b.queueColors);
+        assertEquals(first.getProcessesStarved(), second.getProcessesStarved());
+    }
+
+    @Test
+    public void sameSeed_onParallelThreads_givesSameGame() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> games = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                games.add(executor.submit(() -> {
+                    GameEngine engine = new GameEngine(6, 6, 99, Logger.NONE);
+                    for (int step = 0; step < 12_000; step++) {
+                        engine.update();
+                    }
+                    FrameSnapshot frame = engine.acquireFrame();
+                    return Arrays.toString(frame.queueIds) + Arrays.toString(frame.queueColors);
+                }));
+            }
+            String first = games.get(0).get();
+            for (Future<String> game : games) {
+                assertEquals(first, game.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsGridLargerThanBitmask() {
+        new GameEngine(GameEngine.MAX_GRID_SIZE + 1, 6);
+    }
+
+    private static boolean hasOccupiedCell(int[][] gridState) {
+        for (int[] row : gridState) {
+            for (int owner : row) {
+                if (owner != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
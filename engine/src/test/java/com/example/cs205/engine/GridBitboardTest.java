@@ -0,0 +1,100 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Row masks of the occupancy grid, in particular at the 64-bit word boundary.
+ */
+public class GridBitboardTest {
+    private static final long[] DOMINO = GridBitboard.compileShape(new int[][]{{1, 1}});
+    private static final long[] CELL = GridBitboard.compileShape(new int[][]{{1}});
+
+    @Test
+    public void compileShape_setsOneBitPerFilledCell() {
+        long[] masks = GridBitboard.compileShape(new int[][]{{1, 0, 1}, {0, 1, 0}});
+        assertArrayEquals(new long[]{0b101, 0b010}, masks);
+    }
+
+    @Test
+    public void width64_usesEveryBitOfTheRow() {
+        GridBitboard grid = new GridBitboard(64, 2);
+        assertTrue(grid.canPlace(DOMINO, 2, 62, 0));
+        assertFalse(grid.canPlace(DOMINO, 2, 63, 0)); // Would need bit 64
+        grid.place(DOMINO, 62, 0, 7);
+        assertTrue(grid.isOccupied(63, 0));
+        assertEquals(7, grid.ownerAt(63, 0));
+        assertFalse(grid.canPlace(CELL, 1, 63, 0));
+
+        for (int x = 0; x < 62; x++) {
+            grid.place(CELL, x, 0, 1);
+        }
+        assertTrue(grid.isRowFull(0));
+        assertEquals(0b01, grid.fullRows());
+
+        grid.remove(DOMINO, 62, 0);
+        assertFalse(grid.isOccupied(63, 0));
+        assertEquals(-1, grid.ownerAt(63, 0));
+        assertEquals(0, grid.fullRows());
+    }
+
+    @Test
+    public void width63_doesNotCountTheTopBit() {
+        GridBitboard grid = new GridBitboard(63, 1);
+        assertFalse(grid.canPlace(DOMINO, 2, 62, 0));
+        for (int x = 0; x < 63; x++) {
+            grid.place(CELL, x, 0, x);
+        }
+        assertTrue(grid.isRowFull(0));
+        assertEquals(0x7FFF_FFFF_FFFF_FFFFL, grid.fullColumns());
+
+        // A shape hanging off the right edge only clears the cells inside the grid
+        grid.remove(DOMINO, 62, 0);
+        assertFalse(grid.isOccupied(62, 0));
+        assertTrue(grid.isOccupied(61, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void width65_isRejected() {
+        new GridBitboard(65, 4);
+    }
+
+    @Test
+    public void remove_leftOfTheGrid_clearsOnlyCellsInside() {
+        GridBitboard grid = new GridBitboard(4, 1);
+        grid.place(DOMINO, 0, 0, 3);
+        grid.remove(DOMINO, -1, 0);
+        assertFalse(grid.isOccupied(0, 0));
+        assertTrue(grid.isOccupied(1, 0));
+    }
+
+    @Test
+    public void fullColumns_needsEveryRow() {
+        GridBitboard grid = new GridBitboard(4, 3);
+        long[] column = GridBitboard.compileShape(new int[][]{{1}, {1}, {1}});
+        grid.place(column, 3, 0, 1);
+        grid.place(column, 0, 0, 2);
+        assertEquals(0b1001, grid.fullColumns());
+        assertTrue(grid.isColumnFull(3));
+        assertFalse(grid.isColumnFull(1));
+
+        grid.clearCell(3, 1);
+        assertEquals(0b0001, grid.fullColumns());
+        assertFalse(grid.isColumnFull(3));
+    }
+
+    @Test
+    public void fits_checksBoundsAndCollisionsOnACopy() {
+        GridBitboard grid = new GridBitboard(4, 2);
+        grid.place(CELL, 1, 1, 0);
+        long[] rows = new long[2];
+        grid.copyRowsInto(rows);
+
+        assertTrue(GridBitboard.fits(rows, 4, DOMINO, 2, 2, 1));
+        assertFalse(GridBitboard.fits(rows, 4, DOMINO, 2, 0, 1)); // Collides at (1, 1)
+        assertFalse(GridBitboard.fits(rows, 4, DOMINO, 2, 3, 0)); // Past the right edge
+        assertFalse(GridBitboard.fits(rows, 4, DOMINO, 2, 0, 2)); // Below the grid
+        assertFalse(GridBitboard.fits(rows, 4, DOMINO, 2, -1, 0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Membership and size of the process id bitset, across word boundaries and growth.
+ */
+public class ProcessIdSetTest {
+
+    @Test
+    public void ids_atWordBoundaries_areDistinct() {
+        ProcessIdSet set = new ProcessIdSet();
+        assertTrue(set.add(63));
+        assertTrue(set.add(64));
+        assertTrue(set.add(0));
+
+        assertTrue(set.contains(63));
+        assertTrue(set.contains(64));
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(65));
+        assertFalse(set.contains(127));
+        assertFalse(set.contains(128)); // Past the last word
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void add_countsEachIdOnce() {
+        ProcessIdSet set = new ProcessIdSet();
+        assertTrue(set.add(10));
+        assertFalse(set.add(10));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void add_growsForLargeIds() {
+        ProcessIdSet set = new ProcessIdSet();
+        for (int id = 0; id < 1000; id += 7) {
+            assertTrue(set.add(id));
+        }
+        assertTrue(set.add(100_000));
+        for (int id = 0; id < 1000; id++) {
+            assertEquals(id % 7 == 0, set.contains(id));
+        }
+        assertTrue(set.contains(100_000));
+        assertEquals(144, set.size());
+    }
+
+    @Test
+    public void negativeIds_areIgnored() {
+        ProcessIdSet set = new ProcessIdSet();
+        assertFalse(set.add(-1));
+        assertFalse(set.contains(-1));
+        assertFalse(set.contains(-64));
+        assertEquals(0, set.size());
+    }
+}
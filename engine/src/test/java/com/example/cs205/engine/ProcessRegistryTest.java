@@ -0,0 +1,87 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Lookup by id and the compact live list of the process registry.
+ */
+public class ProcessRegistryTest {
+
+    private static ProcessBlock block(int id) {
+        return new ProcessBlock(id, new int[][]{{1}}, 0, 1000, 0);
+    }
+
+    @Test
+    public void add_isIdempotentAndRemoveFindsOnlyRegisteredBlocks() {
+        ProcessRegistry registry = new ProcessRegistry();
+        ProcessBlock first = block(5);
+        registry.add(first);
+        registry.add(first);
+        assertEquals(1, registry.size());
+
+        assertFalse(registry.remove(block(5))); // Same id, different block
+        assertFalse(registry.remove(block(99)));
+        assertTrue(registry.remove(first));
+        assertFalse(registry.remove(first));
+        assertEquals(0, registry.size());
+        assertNull(registry.get(5));
+    }
+
+    @Test
+    public void id_canBeRegisteredAgainAfterRemoval() {
+        ProcessRegistry registry = new ProcessRegistry();
+        ProcessBlock original = block(3);
+        registry.add(original);
+        registry.remove(original);
+
+        ProcessBlock replacement = block(3);
+        registry.add(replacement);
+        assertSame(replacement, registry.get(3));
+        assertEquals(1, registry.size());
+        assertSame(replacement, registry.getAt(0));
+    }
+
+    @Test
+    public void grows_pastInitialCapacityAndBelowTheFirstId() {
+        ProcessRegistry registry = new ProcessRegistry();
+        for (int id = 100; id < 200; id++) {
+            registry.add(block(id));
+        }
+        registry.add(block(40)); // Smaller than the first id: the dense array is rebased
+        assertEquals(101, registry.size());
+        assertEquals(40, registry.get(40).id);
+        assertEquals(199, registry.get(199).id);
+        assertNull(registry.get(41));
+        assertNull(registry.get(200));
+        assertNull(registry.get(-1));
+    }
+
+    @Test
+    public void remove_keepsLiveListCompact() {
+        ProcessRegistry registry = new ProcessRegistry();
+        ProcessBlock[] blocks = new ProcessBlock[40];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = block(i);
+            registry.add(blocks[i]);
+        }
+        for (int i = 0; i < blocks.length; i += 3) {
+            assertTrue(registry.remove(blocks[i]));
+        }
+
+        Set<Integer> live = new HashSet<>();
+        for (int i = 0; i < registry.size(); i++) {
+            live.add(registry.getAt(i).id);
+        }
+        assertEquals(registry.size(), live.size());
+        for (int i = 0; i < blocks.length; i++) {
+            boolean removed = i % 3 == 0;
+            assertEquals(!removed, live.contains(i));
+            assertEquals(removed ? null : blocks[i], registry.get(i));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.cs205.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Records a game with ReplayRecorder and checks that ReplayPlayer plays it back identically.
+ */
+public class ReplayTest {
+    private static final long SEED = 1234;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_reproducesRecordedGame() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("game.replay");
+        GameEngine engine = new GameEngine(6, 6, SEED, Logger.NONE);
+        ReplayRecorder recorder = new ReplayRecorder(log, 6, 6, SEED, Logger.NONE);
+        engine.setEventListener(recorder);
+        engine.setLayout(new BoardLayout(1080, 1920, 6, 6));
+
+        // Drag the first queued block to a different cell every few seconds
+        for (int round = 0; round < 12; round++) {
+            engine.touchDown(140, 1125);
+            step(engine, 5);
+            engine.touchUp(10 + (round % 6) * 180, 25 + (round / 6) * 180);
+            step(engine, 300);
+            if (round == 6) {
+                engine.pause();
+                step(engine, 200);
+                engine.resume();
+            }
+        }
+        step(engine, 2_000);
+        recorder.finish(engine.getSimulationTime());
+        assertTrue(engine.getProcessesCleared() > 0);
+
+        ReplayPlayer player = ReplayPlayer.open(log);
+        ReplayPlayer.Result result = player.play(Logger.NONE);
+
+        assertNull(result.mismatch, result.mismatch);
+        assertTrue(result.eventsChecked > 12);
+        assertEquals(engine.getSimulationTime(), result.engine.getSimulationTime());
+        assertEquals(engine.getProcessesCleared(), result.engine.getProcessesCleared());
+        assertEquals(engine.getProcessesStarved(), result.engine.getProcessesStarved());
+        assertArrayEquals(engine.getGridState(), result.engine.getGridState());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void open_rejectsOtherFiles() throws IOException {
+        Path file = folder.newFile("not-a-replay").toPath();
+        Files.write(file, new byte[32]);
+        ReplayPlayer.open(file);
+    }
+
+    private static void step(GameEngine engine, int steps) {
+        for (int i = 0; i < steps; i++) {
+            engine.update();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.cs205.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ScoreHistogramTest {
+
+    // Scores 1 to 10, one game each, but 5 twice
+    private static final ScoreHistogram HISTOGRAM = new ScoreHistogram(
+            new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+            new long[]{1, 1, 1, 1, 2, 1, 1, 1, 1, 1});
+
+    @Test
+    public void percentile_usesNearestRank() {
+        assertEquals(11, HISTOGRAM.getTotalGames());
+        assertEquals(1, HISTOGRAM.percentile(0));
+        assertEquals(5, HISTOGRAM.percentile(0.5));
+        assertEquals(9, HISTOGRAM.percentile(0.9));
+        assertEquals(10, HISTOGRAM.percentile(1));
+    }
+
+    @Test
+    public void of_countsGamesPerScore() {
+        ScoreHistogram counted = ScoreHistogram.of(new int[]{10, 5, 1, 9, 2, 8, 5, 3, 7, 4, 6});
+        assertEquals(HISTOGRAM.getTotalGames(), counted.getTotalGames());
+        for (double fraction = 0; fraction <= 1; fraction += 0.05) {
+            assertEquals(HISTOGRAM.percentile(fraction), counted.percentile(fraction));
+        }
+    }
+
+    @Test
+    public void rankOf_countsGamesBelowScore() {
+        assertEquals(4.0 / 11, HISTOGRAM.rankOf(5), 1e-9);
+        assertEquals(0, HISTOGRAM.rankOf(-3), 1e-9);
+        assertEquals(1, HISTOGRAM.rankOf(11), 1e-9);
+    }
+
+    @Test
+    public void emptyHistogram_givesZero() {
+        ScoreHistogram empty = new ScoreHistogram(new int[0], new long[0]);
+        assertEquals(0, empty.percentile(0.5));
+        assertEquals(0, empty.rankOf(5), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentile_rejectsFractionAboveOne() {
+        HISTOGRAM.percentile(1.5);
+    }
+}
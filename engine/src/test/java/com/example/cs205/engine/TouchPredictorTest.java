@@ -0,0 +1,60 @@
+package com.example.cs205.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TouchPredictorTest {
+    private static final long MILLIS = 1_000_000L;
+    private static final long FALLBACK = GameEngine.packTouch(-1, -1);
+
+    @Test
+    public void predict_extrapolatesSteadyDragOneFrameAhead() {
+        TouchPredictor predictor = new TouchPredictor(16);
+        // Moving right at 1 pixel per millisecond, sampled every 4 ms
+        predictor.addSample(0, 100, 200, true);
+        for (long t = 4; t <= 20; t += 4) {
+            predictor.addSample(t * MILLIS, 100 + t, 200, false);
+        }
+
+        long predicted = predictor.predict(20 * MILLIS, 8 * MILLIS, FALLBACK);
+        assertEquals(128f, GameEngine.touchX(predicted), 0.01f);
+        assertEquals(200f, GameEngine.touchY(predicted), 0.01f);
+    }
+
+    @Test
+    public void predict_usesFallbackWhenNoRecentSamples() {
+        TouchPredictor predictor = new TouchPredictor(16);
+        assertEquals(FALLBACK, predictor.predict(0, 8 * MILLIS, FALLBACK));
+
+        predictor.addSample(0, 100, 200, true);
+        predictor.addSample(4 * MILLIS, 110, 200, false);
+        assertEquals(FALLBACK, predictor.predict(500 * MILLIS, 8 * MILLIS, FALLBACK));
+    }
+
+    @Test
+    public void gestureStart_forgetsPreviousGesture() {
+        TouchPredictor predictor = new TouchPredictor(16);
+        predictor.addSample(0, 0, 0, true);
+        predictor.addSample(10 * MILLIS, 50, 50, false);
+        predictor.addSample(12 * MILLIS, 300, 300, true); // New finger far away, no velocity yet
+
+        long predicted = predictor.predict(12 * MILLIS, 8 * MILLIS, FALLBACK);
+        assertEquals(300f, GameEngine.touchX(predicted), 0.01f);
+        assertEquals(300f, GameEngine.touchY(predicted), 0.01f);
+    }
+
+    @Test
+    public void addSample_dropsWhenRingIsFullUntilDrained() {
+        TouchPredictor predictor = new TouchPredictor(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(predictor.addSample(i, i, i, i == 0));
+        }
+        assertFalse(predictor.addSample(4, 4, 4, false));
+
+        predictor.predict(4, 0, FALLBACK);
+        assertTrue(predictor.addSample(5, 5, 5, false));
+    }
+}
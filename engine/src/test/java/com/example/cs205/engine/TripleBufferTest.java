@@ -0,0 +1,86 @@
+package com.example.cs205.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Buffer swaps between the writer and the reader of the triple buffer.
+ */
+public class TripleBufferTest {
+
+    // Two copies of the frame number, so a torn frame shows up as a mismatch
+    private static final class Frame {
+        long first;
+        long second;
+    }
+
+    @Test
+    public void acquire_returnsNewestPublishedFrame() {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(new Frame(), new Frame(), new Frame());
+        Frame initial = buffer.acquire();
+        assertSame(initial, buffer.acquire()); // Nothing published yet
+
+        Frame written = buffer.back();
+        written.first = 1;
+        buffer.publish();
+        assertSame(written, buffer.acquire());
+        assertSame(written, buffer.acquire()); // No new frame: keep the current one
+
+        buffer.back().first = 2;
+        buffer.publish();
+        Frame newest = buffer.back();
+        newest.first = 3;
+        buffer.publish(); // Frame 2 is skipped, never read
+        assertEquals(3, buffer.acquire().first);
+    }
+
+    @Test
+    public void writerAndReader_neverShareABuffer() {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(new Frame(), new Frame(), new Frame());
+        for (int i = 0; i < 10; i++) {
+            Frame front = buffer.acquire();
+            assertNotSame(front, buffer.back());
+            buffer.publish();
+            assertNotSame(front, buffer.back());
+            if (i % 3 == 0) {
+                buffer.publish(); // Two publishes between reads
+                assertNotSame(front, buffer.back());
+            }
+        }
+    }
+
+    @Test
+    public void concurrentReader_neverSeesATornOrOlderFrame() throws Exception {
+        TripleBuffer<Frame> buffer = new TripleBuffer<>(new Frame(), new Frame(), new Frame());
+        long frames = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (long n = 1; n <= frames; n++) {
+                    Frame frame = buffer.back();
+                    frame.first = n;
+                    frame.second = n;
+                    buffer.publish();
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                long last = 0;
+                while (last < frames) {
+                    Frame frame = buffer.acquire();
+                    assertEquals(frame.first, frame.second);
+                    assertTrue(frame.first >= last);
+                    last = frame.first;
+                }
+            });
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
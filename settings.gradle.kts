@@ -21,4 +21,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "cs205"
 include(":app")
+include(":engine")
+include(":benchmark")
+include(":simulator")
  
\ No newline at end of file
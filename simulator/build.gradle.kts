@@ -0,0 +1,18 @@
+plugins {
+    application
+}
+
+// Headless batch runner: ./gradlew :simulator:run --args="--games 1000 --player line-fill"
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":engine"))
+    testImplementation(libs.junit)
+}
+
+application {
+    mainClass.set("com.example.cs205.simulator.BatchSimulator")
+}
@@ -0,0 +1,193 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.GameEngine;
+import com.example.cs205.engine.GameRules;
+import com.example.cs205.engine.ScoreHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many headless games in parallel and prints aggregate statistics, for tuning the
+ * game rules. Each worker thread plays its own share of the games start to finish; games
+ * share no state, so the only synchronization is collecting the results at the end.
+ * Every game gets its own seed from the master seed, so a run is reproducible whatever
+ * the thread count.
+ *
+ * Usage: BatchSimulator [--games N] [--seconds N] [--threads N] [--seed N]
+ *     [--player idle|random|first-fit|line-fill] [--think MILLIS] [--grid N]
+ *     [--spawn-interval MILLIS] [--queue-size N] [--max-wait MILLIS] [--time-scale X]
+ */
+public final class BatchSimulator {
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_SECONDS = 120; // Simulated length of each game
+    private static final long DEFAULT_THINK_MILLIS = 500; // Time a player takes per move
+
+    private BatchSimulator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.println("Playing " + options.games + " games of " + options.seconds + " s on "
+                + options.threads + " threads, player " + options.player + ", " + options.rules);
+        long start = System.nanoTime();
+        GameStats[] results = run(options);
+        long elapsedNanos = System.nanoTime() - start;
+        printSummary(results, elapsedNanos);
+    }
+
+    /**
+     * Play all games and return their results, in game order
+     */
+    static GameStats[] run(Options options) throws InterruptedException {
+        // Derive the seeds up front so each game's seed does not depend on scheduling
+        long[] seeds = new long[options.games];
+        SplittableRandom master = new SplittableRandom(options.seed);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = master.nextLong();
+        }
+
+        long steps = options.seconds * 1000L / GameEngine.SIMULATION_STEP_MILLIS;
+        GameStats[] results = new GameStats[options.games];
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        try {
+            // One task per thread, each writing only its own slots of the results
+            List<Future<?>> workers = new ArrayList<>(options.threads);
+            for (int t = 0; t < options.threads; t++) {
+                int first = t;
+                workers.add(executor.submit(() -> {
+                    for (int i = first; i < seeds.length; i += options.threads) {
+                        Player player = options.newPlayer(seeds[i]);
+                        results[i] = GameStats.play(options.gridSize, seeds[i], options.rules, player, steps);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private static void printSummary(GameStats[] results, long elapsedNanos) {
+        int[] scores = new int[results.length];
+        long totalSteps = 0, spawned = 0, starved = 0, cleared = 0, overflows = 0;
+        double scoreSum = 0;
+        for (int i = 0; i < results.length; i++) {
+            GameStats game = results[i];
+            scores[i] = game.score;
+            scoreSum += game.score;
+            totalSteps += game.steps;
+            spawned += game.spawned;
+            starved += game.starved;
+            cleared += game.cleared;
+            overflows += game.overflows;
+        }
+        ScoreHistogram histogram = ScoreHistogram.of(scores);
+        double mean = scoreSum / results.length;
+        double variance = 0;
+        for (int score : scores) {
+            variance += (score - mean) * (score - mean);
+        }
+        double stddev = Math.sqrt(variance / results.length);
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.println(String.format(Locale.ROOT,
+                "Score: min %d, p10 %d, p50 %d, p90 %d, max %d, mean %.2f, stddev %.2f",
+                histogram.percentile(0), histogram.percentile(0.10), histogram.percentile(0.50),
+                histogram.percentile(0.90), histogram.percentile(1), mean, stddev));
+        System.out.println(String.format(Locale.ROOT,
+                "Per game: %.2f spawned, %.2f cleared, %.2f starved, %.2f overflows",
+                (double) spawned / results.length, (double) cleared / results.length,
+                (double) starved / results.length, (double) overflows / results.length));
+        System.out.println(String.format(Locale.ROOT,
+                "Starvation rate: %.1f%% of spawned blocks, overflow rate: %.1f%% of spawns",
+                spawned == 0 ? 0.0 : 100.0 * starved / spawned,
+                spawned + overflows == 0 ? 0.0 : 100.0 * overflows / (spawned + overflows)));
+        System.out.println(String.format(Locale.ROOT,
+                "Throughput: %,.0f ticks/s (%d ticks in %.2f s)", totalSteps / seconds, totalSteps, seconds));
+    }
+
+    /**
+     * Command line options
+     */
+    static final class Options {
+        int games = DEFAULT_GAMES;
+        int seconds = DEFAULT_SECONDS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42;
+        String player = "line-fill";
+        long thinkMillis = DEFAULT_THINK_MILLIS;
+        int gridSize = GameEngine.DEFAULT_GRID_WIDTH;
+        GameRules rules = GameRules.DEFAULT;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            long spawnInterval = GameRules.DEFAULT.spawnIntervalMillis;
+            int queueSize = GameRules.DEFAULT.queueCapacity;
+            long maxWait = GameRules.DEFAULT.maxWaitMillis;
+            double timeScale = GameRules.DEFAULT.timeLimitScale;
+
+            for (int i = 0; i < args.length; i++) {
+                String name = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                String value = args[++i];
+                try {
+                    switch (name) {
+                        case "--games": options.games = Integer.parseInt(value); break;
+                        case "--seconds": options.seconds = Integer.parseInt(value); break;
+                        case "--threads": options.threads = Integer.parseInt(value); break;
+                        case "--seed": options.seed = Long.parseLong(value); break;
+                        case "--player": options.player = value; break;
+                        case "--think": options.thinkMillis = Long.parseLong(value); break;
+                        case "--grid": options.gridSize = Integer.parseInt(value); break;
+                        case "--spawn-interval": spawnInterval = Long.parseLong(value); break;
+                        case "--queue-size": queueSize = Integer.parseInt(value); break;
+                        case "--max-wait": maxWait = Long.parseLong(value); break;
+                        case "--time-scale": timeScale = Double.parseDouble(value); break;
+                        default: throw new IllegalArgumentException("Unknown option " + name);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad value for " + name + ": " + value);
+                }
+            }
+
+            if (options.games <= 0 || options.seconds <= 0 || options.threads <= 0 || options.thinkMillis <= 0) {
+                throw new IllegalArgumentException("Games, seconds, threads and think time must be positive");
+            }
+            options.rules = new GameRules(spawnInterval, queueSize, maxWait, timeScale);
+            options.newPlayer(0); // Reject an unknown player before starting
+            return options;
+        }
+
+        Player newPlayer(long seed) {
+            switch (player) {
+                case "idle": return new IdlePlayer();
+                case "random": return new RandomPlayer(thinkMillis, seed);
+                case "first-fit": return new FirstFitPlayer(thinkMillis);
+                case "line-fill": return new LineFillPlayer(thinkMillis);
+                default: throw new IllegalArgumentException("Unknown player " + player);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.FrameSnapshot;
+
+/**
+ * Puts each block at the first position it fits, scanning rows from the top
+ */
+class FirstFitPlayer extends PlacingPlayer {
+    FirstFitPlayer(long thinkTimeMillis) {
+        super(thinkTimeMillis);
+    }
+
+    @Override
+    int choosePlacement(FrameSnapshot frame, long[] shape, int shapeWidth) {
+        for (int y = 0; y < frame.gridHeight; y++) {
+            for (int x = 0; x < frame.gridWidth; x++) {
+                if (frame.canPlace(shape, shapeWidth, x, y)) {
+                    return cell(frame, x, y);
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.GameEngine;
+import com.example.cs205.engine.GameEventListener;
+import com.example.cs205.engine.GameRules;
+import com.example.cs205.engine.Logger;
+
+/**
+ * Outcome of one headless game
+ */
+final class GameStats {
+    final long seed;
+    final int score;
+    final int cleared;
+    final int starved;
+    final int overflows; // Spawns skipped because the queue was full
+    final int spawned; // Blocks that made it into the queue
+    final long steps;
+
+    private GameStats(long seed, int score, int cleared, int starved, int overflows, int spawned, long steps) {
+        this.seed = seed;
+        this.score = score;
+        this.cleared = cleared;
+        this.starved = starved;
+        this.overflows = overflows;
+        this.spawned = spawned;
+        this.steps = steps;
+    }
+
+    /**
+     * Play one game to the end on the calling thread. Everything the game touches is
+     * created here, so games on different threads share no state.
+     */
+    static GameStats play(int gridSize, long seed, GameRules rules, Player player, long steps) {
+        GameEngine engine = new GameEngine(gridSize, gridSize, seed, rules, Logger.NONE);
+        SpawnCounter spawns = new SpawnCounter();
+        spawns.count = engine.acquireFrame().queueCount; // The constructor spawns the first block
+        engine.setEventListener(spawns);
+        for (long step = 0; step < steps; step++) {
+            player.beforeStep(engine);
+            engine.update();
+        }
+        engine.shutdown();
+
+        return new GameStats(seed, engine.getScore(), engine.getProcessesCleared(),
+                engine.getProcessesStarved(), spawns.skipped, spawns.count, steps);
+    }
+
+    private static final class SpawnCounter implements GameEventListener {
+        int count;
+        int skipped; // The engine does not count these: its overflow counter tracks failed inserts only
+
+        @Override
+        public void onSpawn(long time, int blockId) {
+            count++;
+        }
+
+        @Override
+        public void onSpawnSkipped(long time) {
+            skipped++;
+        }
+    }
+}
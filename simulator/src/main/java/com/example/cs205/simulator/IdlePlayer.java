@@ -0,0 +1,12 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.GameEngine;
+
+/**
+ * Never touches the screen: every block starves or overflows. A baseline for the rules.
+ */
+class IdlePlayer implements Player {
+    @Override
+    public void beforeStep(GameEngine engine) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.FrameSnapshot;
+
+/**
+ * Puts each block where it completes the most lines, and otherwise where the rows and
+ * columns it lands in are fullest
+ */
+class LineFillPlayer extends PlacingPlayer {
+    private static final int LINE_BONUS = 1000; // Completing a line beats any amount of filling
+
+    LineFillPlayer(long thinkTimeMillis) {
+        super(thinkTimeMillis);
+    }
+
+    @Override
+    int choosePlacement(FrameSnapshot frame, long[] shape, int shapeWidth) {
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int y = 0; y < frame.gridHeight; y++) {
+            for (int x = 0; x < frame.gridWidth; x++) {
+                if (!frame.canPlace(shape, shapeWidth, x, y)) {
+                    continue;
+                }
+                int score = score(frame, shape, shapeWidth, x, y);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = cell(frame, x, y);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int score(FrameSnapshot frame, long[] shape, int shapeWidth, int gridX, int gridY) {
+        long full = frame.gridWidth == 64 ? -1L : (1L << frame.gridWidth) - 1;
+        int score = 0;
+
+        // Rows the block lands in
+        for (int row = 0; row < shape.length; row++) {
+            long filled = frame.occupancy[gridY + row] | (shape[row] << gridX);
+            score += filled == full ? LINE_BONUS : Long.bitCount(filled);
+        }
+
+        // Columns the block lands in
+        for (int column = 0; column < shapeWidth; column++) {
+            int x = gridX + column;
+            int filled = 0;
+            for (int y = 0; y < frame.gridHeight; y++) {
+                int shapeRow = y - gridY;
+                boolean inShape = shapeRow >= 0 && shapeRow < shape.length && (shape[shapeRow] & (1L << column)) != 0;
+                if (inShape || (frame.occupancy[y] & (1L << x)) != 0) {
+                    filled++;
+                }
+            }
+            score += filled == frame.gridHeight ? LINE_BONUS : filled;
+        }
+        return score;
+    }
+}
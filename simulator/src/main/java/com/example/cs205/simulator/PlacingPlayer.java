@@ -0,0 +1,70 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.BoardLayout;
+import com.example.cs205.engine.FrameSnapshot;
+import com.example.cs205.engine.GameEngine;
+
+/**
+ * Player that, at a fixed pace, drags the oldest queued block to a grid position picked by
+ * choosePlacement. Moves go through touchDown/touchUp on a virtual screen, so they take
+ * the same path as real input.
+ */
+abstract class PlacingPlayer implements Player {
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+    private static final int NO_PLACEMENT = -1;
+
+    private final long thinkTimeMillis; // Time between two moves
+    private BoardLayout layout;
+    private long nextMoveTime;
+    private boolean dragging = false; // Touch down sent, touch up is due at the next step
+    private int targetX, targetY;
+
+    PlacingPlayer(long thinkTimeMillis) {
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.nextMoveTime = thinkTimeMillis;
+    }
+
+    @Override
+    public void beforeStep(GameEngine engine) {
+        if (layout == null) {
+            layout = new BoardLayout(SCREEN_WIDTH, SCREEN_HEIGHT, engine.getGridWidth(), engine.getGridHeight());
+            engine.setLayout(layout);
+        }
+
+        // Touch points are one pixel inside the slot and the cell, so the drag offset is (1, 1)
+        if (dragging) {
+            dragging = false;
+            engine.touchUp(layout.gridOffsetX + targetX * layout.cellSize + 1,
+                    layout.gridOffsetY + targetY * layout.cellSize + 1);
+            return;
+        }
+        if (engine.getSimulationTime() < nextMoveTime) {
+            return;
+        }
+        nextMoveTime = engine.getSimulationTime() + thinkTimeMillis;
+
+        FrameSnapshot frame = engine.acquireFrame();
+        if (frame.queueCount == 0) {
+            return;
+        }
+        int placement = choosePlacement(frame, frame.queueShapes[0], frame.queueWidths[0]);
+        if (placement == NO_PLACEMENT) {
+            return;
+        }
+        targetX = placement % frame.gridWidth;
+        targetY = placement / frame.gridWidth;
+        dragging = true;
+        engine.touchDown(layout.queueSlotX(0) + 1, layout.queueSlotY(0) + 1);
+    }
+
+    /**
+     * Pick where the block goes
+     * @return Cell index (y * grid width + x) of the block's top-left corner, or -1 to wait
+     */
+    abstract int choosePlacement(FrameSnapshot frame, long[] shape, int shapeWidth);
+
+    static int cell(FrameSnapshot frame, int x, int y) {
+        return y * frame.gridWidth + x;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.GameEngine;
+
+/**
+ * Plays a headless game through the engine's touch input, like a user would
+ */
+interface Player {
+    /**
+     * Called before every simulation step
+     */
+    void beforeStep(GameEngine engine);
+}
@@ -0,0 +1,32 @@
+package com.example.cs205.simulator;
+
+import com.example.cs205.engine.FrameSnapshot;
+
+import java.util.SplittableRandom;
+
+/**
+ * Puts each block at a random position where it fits
+ */
+class RandomPlayer extends PlacingPlayer {
+    private final SplittableRandom random;
+
+    RandomPlayer(long thinkTimeMillis, long seed) {
+        super(thinkTimeMillis);
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    int choosePlacement(FrameSnapshot frame, long[] shape, int shapeWidth) {
+        // Reservoir sampling over the positions that fit
+        int chosen = -1;
+        int fits = 0;
+        for (int y = 0; y < frame.gridHeight; y++) {
+            for (int x = 0; x < frame.gridWidth; x++) {
+                if (frame.canPlace(shape, shapeWidth, x, y) && random.nextInt(++fits) == 0) {
+                    chosen = cell(frame, x, y);
+                }
+            }
+        }
+        return chosen;
+    }
+}
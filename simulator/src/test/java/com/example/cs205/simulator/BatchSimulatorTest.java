@@ -0,0 +1,46 @@
+package com.example.cs205.simulator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BatchSimulatorTest {
+
+    private static BatchSimulator.Options options(String... args) {
+        return BatchSimulator.Options.parse(args);
+    }
+
+    private static int[] scores(GameStats[] results) {
+        int[] scores = new int[results.length];
+        for (int i = 0; i < results.length; i++) {
+            scores[i] = results[i].score;
+        }
+        return scores;
+    }
+
+    @Test
+    public void run_givesSameResultsOnAnyThreadCount() throws InterruptedException {
+        GameStats[] single = BatchSimulator.run(options("--games", "16", "--seconds", "30", "--threads", "1", "--player", "random"));
+        GameStats[] parallel = BatchSimulator.run(options("--games", "16", "--seconds", "30", "--threads", "4", "--player", "random"));
+
+        assertArrayEquals(scores(single), scores(parallel));
+    }
+
+    @Test
+    public void linePlayer_clearsBlocksThatIdlePlayerStarves() throws InterruptedException {
+        GameStats idle = BatchSimulator.run(options("--games", "1", "--seconds", "60", "--player", "idle"))[0];
+        GameStats player = BatchSimulator.run(options("--games", "1", "--seconds", "60", "--player", "line-fill"))[0];
+
+        assertEquals(0, idle.cleared);
+        assertTrue(idle.overflows > 0);
+        assertTrue(player.cleared > 0);
+        assertTrue(player.score > idle.score);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_rejectsUnknownPlayer() {
+        options("--player", "nobody");
+    }
+}